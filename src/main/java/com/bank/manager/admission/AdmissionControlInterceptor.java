@@ -0,0 +1,68 @@
+package com.bank.manager.admission;
+
+import com.bank.manager.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits API requests through separate read and write bulkheads.
+ * <p>
+ * Rejection happens in {@code preHandle}, before any service lock is touched,
+ * so the resulting {@link ServiceOverloadedException} is rendered by the
+ * global exception handler like any other business error.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final long minRetryAfterSeconds;
+
+    public AdmissionControlInterceptor(AdaptiveConcurrencyLimiter readLimiter,
+                                       AdaptiveConcurrencyLimiter writeLimiter,
+                                       long minRetryAfterSeconds) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.minRetryAfterSeconds = minRetryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AdaptiveConcurrencyLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException(limiter.getName(), retryAfterSeconds(limiter));
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object limiter = request.getAttribute(LIMITER_ATTRIBUTE);
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (limiter instanceof AdaptiveConcurrencyLimiter admitted && start instanceof Long startNanos) {
+            request.removeAttribute(LIMITER_ATTRIBUTE);
+            admitted.release(System.nanoTime() - startNanos);
+        }
+    }
+
+    // all private methods below
+    private boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    private long retryAfterSeconds(AdaptiveConcurrencyLimiter limiter) {
+        long recentRttSeconds = TimeUnit.NANOSECONDS.toSeconds(limiter.getRecentRttNanos());
+        return Math.max(minRetryAfterSeconds, recentRttSeconds);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.bank.manager.config;
+
+import com.bank.manager.admission.AdaptiveConcurrencyLimiter;
+import com.bank.manager.admission.AdmissionControlInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the read/write bulkheads in front of the API controllers.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bank.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlProperties properties;
+
+    public AdmissionControlConfig(AdmissionControlProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                limiter("read", properties.getRead()),
+                limiter("write", properties.getWrite()),
+                properties.getRetryAfterSeconds()
+        );
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/**")
+                // long-lived streams would pin a permit for their whole lifetime
+                .excludePathPatterns("/api/health", "/api/accounts/stream");
+    }
+
+    // all private methods below
+    private AdaptiveConcurrencyLimiter limiter(String name, AdmissionControlProperties.Bulkhead bulkhead) {
+        return new AdaptiveConcurrencyLimiter(
+                name,
+                bulkhead.getInitialLimit(),
+                bulkhead.getMinLimit(),
+                bulkhead.getMaxLimit(),
+                properties.getSmoothing(),
+                properties.getRttTolerance()
+        );
+    }
+
+}
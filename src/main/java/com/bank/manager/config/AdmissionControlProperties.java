@@ -0,0 +1,106 @@
+package com.bank.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the adaptive admission control in front of the API.
+ */
+@ConfigurationProperties(prefix = "bank.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+    private double smoothing = 0.2;
+    private double rttTolerance = 1.5;
+    private long retryAfterSeconds = 1;
+    private Bulkhead read = new Bulkhead(200, 20, 1000);
+    private Bulkhead write = new Bulkhead(50, 5, 200);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Bulkhead getRead() {
+        return read;
+    }
+
+    public void setRead(Bulkhead read) {
+        this.read = read;
+    }
+
+    public Bulkhead getWrite() {
+        return write;
+    }
+
+    public void setWrite(Bulkhead write) {
+        this.write = write;
+    }
+
+    public static class Bulkhead {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Bulkhead() {
+        }
+
+        public Bulkhead(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+
+}
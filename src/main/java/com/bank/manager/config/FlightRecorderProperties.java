@@ -0,0 +1,60 @@
+package com.bank.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the continuous flight recording started by the application.
+ */
+@ConfigurationProperties(prefix = "bank.jfr")
+public class FlightRecorderProperties {
+
+    private boolean enabled = false;
+    private String configuration = "classpath:jfr/bank-manager.jfc";
+    private Duration maxAge = Duration.ofHours(1);
+    private long maxSizeBytes = 256L * 1024 * 1024;
+    private Path dumpOnExit = Path.of(System.getProperty("java.io.tmpdir"), "bank-manager", "ledger.jfr");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    public void setConfiguration(String configuration) {
+        this.configuration = configuration;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public void setMaxSizeBytes(long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public Path getDumpOnExit() {
+        return dumpOnExit;
+    }
+
+    public void setDumpOnExit(Path dumpOnExit) {
+        this.dumpOnExit = dumpOnExit;
+    }
+
+}
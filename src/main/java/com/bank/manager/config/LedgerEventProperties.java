@@ -0,0 +1,21 @@
+package com.bank.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the ledger event log.
+ */
+@ConfigurationProperties(prefix = "bank.events")
+public class LedgerEventProperties {
+
+    private int logCapacity = 65536;
+
+    public int getLogCapacity() {
+        return logCapacity;
+    }
+
+    public void setLogCapacity(int logCapacity) {
+        this.logCapacity = logCapacity;
+    }
+
+}
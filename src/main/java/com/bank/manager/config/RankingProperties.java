@@ -0,0 +1,50 @@
+package com.bank.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the balance and transfer leaderboards.
+ */
+@ConfigurationProperties(prefix = "bank.rankings")
+public class RankingProperties {
+
+    private Duration transferWindow = Duration.ofHours(1);
+    private Duration transferBucketWidth = Duration.ofMinutes(1);
+    private int maxTopTransfers = 100;
+    private int maxTopBalances = 1000;
+
+    public Duration getTransferWindow() {
+        return transferWindow;
+    }
+
+    public void setTransferWindow(Duration transferWindow) {
+        this.transferWindow = transferWindow;
+    }
+
+    public Duration getTransferBucketWidth() {
+        return transferBucketWidth;
+    }
+
+    public void setTransferBucketWidth(Duration transferBucketWidth) {
+        this.transferBucketWidth = transferBucketWidth;
+    }
+
+    public int getMaxTopTransfers() {
+        return maxTopTransfers;
+    }
+
+    public void setMaxTopTransfers(int maxTopTransfers) {
+        this.maxTopTransfers = maxTopTransfers;
+    }
+
+    public int getMaxTopBalances() {
+        return maxTopBalances;
+    }
+
+    public void setMaxTopBalances(int maxTopBalances) {
+        this.maxTopBalances = maxTopBalances;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.bank.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the background ledger reconciliation.
+ */
+@ConfigurationProperties(prefix = "bank.reconciliation")
+public class ReconciliationProperties {
+
+    private boolean enabled = true;
+    private Duration interval = Duration.ofMinutes(5);
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int maxReportedDiscrepancies = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getMaxReportedDiscrepancies() {
+        return maxReportedDiscrepancies;
+    }
+
+    public void setMaxReportedDiscrepancies(int maxReportedDiscrepancies) {
+        this.maxReportedDiscrepancies = maxReportedDiscrepancies;
+    }
+
+}
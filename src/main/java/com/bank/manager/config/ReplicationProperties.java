@@ -0,0 +1,104 @@
+package com.bank.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for streaming the ledger from a primary instance to read-only replicas.
+ */
+@ConfigurationProperties(prefix = "bank.replication")
+public class ReplicationProperties {
+
+    public enum Role {
+        /** standalone instance, no replication */
+        NONE,
+        /** accepts writes and streams applied mutations to replicas */
+        PRIMARY,
+        /** follows a primary and serves read-only traffic */
+        REPLICA
+    }
+
+    private Role role = Role.NONE;
+    private String bindAddress = "127.0.0.1";
+    private int port = 9190;
+    private String primaryHost = "127.0.0.1";
+    private int primaryPort = 9190;
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+    private Duration reconnectBackoff = Duration.ofSeconds(1);
+    private int maxBatchSize = 512;
+    private Duration readYourWritesTimeout = Duration.ofSeconds(2);
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public String getBindAddress() {
+        return bindAddress;
+    }
+
+    public void setBindAddress(String bindAddress) {
+        this.bindAddress = bindAddress;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public String getPrimaryHost() {
+        return primaryHost;
+    }
+
+    public void setPrimaryHost(String primaryHost) {
+        this.primaryHost = primaryHost;
+    }
+
+    public int getPrimaryPort() {
+        return primaryPort;
+    }
+
+    public void setPrimaryPort(int primaryPort) {
+        this.primaryPort = primaryPort;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getReconnectBackoff() {
+        return reconnectBackoff;
+    }
+
+    public void setReconnectBackoff(Duration reconnectBackoff) {
+        this.reconnectBackoff = reconnectBackoff;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getReadYourWritesTimeout() {
+        return readYourWritesTimeout;
+    }
+
+    public void setReadYourWritesTimeout(Duration readYourWritesTimeout) {
+        this.readYourWritesTimeout = readYourWritesTimeout;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.bank.manager.config;
+
+import com.bank.manager.event.LedgerEventPublisher;
+import com.bank.manager.replication.ReplicaRequestInterceptor;
+import com.bank.manager.replication.ReplicationClient;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web side of replication: read-only enforcement and read-your-writes on replicas, and
+ * clean per-request write tracking for the ledger sequence response header.
+ */
+@Configuration
+public class ReplicationWebConfig implements WebMvcConfigurer {
+
+    private final ReplicationProperties properties;
+    private final LedgerEventPublisher eventPublisher;
+    private final ObjectProvider<ReplicationClient> replicationClient;
+
+    public ReplicationWebConfig(ReplicationProperties properties,
+                                LedgerEventPublisher eventPublisher,
+                                ObjectProvider<ReplicationClient> replicationClient) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.replicationClient = replicationClient;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // forget writes a pooled thread made while serving an earlier request
+        registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                                             Object handler) {
+                        eventPublisher.takeLastPublishedSequence();
+                        return true;
+                    }
+                })
+                .addPathPatterns("/api/**");
+
+        if (properties.getRole() == ReplicationProperties.Role.REPLICA) {
+            registry.addInterceptor(new ReplicaRequestInterceptor(replicationClient.getObject(),
+                            properties.getReadYourWritesTimeout()))
+                    .addPathPatterns("/api/**")
+                    .excludePathPatterns("/api/health", "/api/replication/**")
+                    // reject writes before they take an admission permit
+                    .order(Ordered.HIGHEST_PRECEDENCE);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.bank.manager.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leaves the DataSource out unless {@code bank.storage.backend=jdbc}, so the in-memory
+ * backend does not open an embedded database and connection pool it never uses. The
+ * JDBC transaction manager and templates back off with it.
+ */
+public class StorageBackendEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if ("jdbc".equals(environment.getProperty("bank.storage.backend"))) {
+            return;
+        }
+        // keep whatever the configuration already excludes
+        List<String> excluded = new ArrayList<>(Binder.get(environment)
+                .bind(EXCLUDE_PROPERTY, Bindable.listOf(String.class))
+                .orElse(List.of()));
+        excluded.add(DataSourceAutoConfiguration.class.getName());
+        environment.getPropertySources().addFirst(new MapPropertySource("storageBackend",
+                Map.of(EXCLUDE_PROPERTY, String.join(",", excluded))));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.bank.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the server-sent ledger change feed.
+ */
+@ConfigurationProperties(prefix = "bank.stream")
+public class StreamProperties {
+
+    public enum SlowConsumerPolicy {
+        /** keep only the latest balance per account and skip transactions until the subscriber catches up */
+        CONFLATE,
+        /** close the stream; the client reconnects and resumes from its last sequence */
+        DISCONNECT
+    }
+
+    private int bufferCapacity = 1024;
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.CONFLATE;
+    private Duration sendTimeout = Duration.ofSeconds(10);
+    private Duration stallCheckInterval = Duration.ofSeconds(1);
+    private Duration timeout = Duration.ofMinutes(30);
+    private int maxAccountsPerSubscription = 1000;
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public SlowConsumerPolicy getSlowConsumerPolicy() {
+        return slowConsumerPolicy;
+    }
+
+    public void setSlowConsumerPolicy(SlowConsumerPolicy slowConsumerPolicy) {
+        this.slowConsumerPolicy = slowConsumerPolicy;
+    }
+
+    public Duration getSendTimeout() {
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(Duration sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+
+    public Duration getStallCheckInterval() {
+        return stallCheckInterval;
+    }
+
+    public void setStallCheckInterval(Duration stallCheckInterval) {
+        this.stallCheckInterval = stallCheckInterval;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMaxAccountsPerSubscription() {
+        return maxAccountsPerSubscription;
+    }
+
+    public void setMaxAccountsPerSubscription(int maxAccountsPerSubscription) {
+        this.maxAccountsPerSubscription = maxAccountsPerSubscription;
+    }
+
+}
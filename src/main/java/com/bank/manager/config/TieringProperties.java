@@ -0,0 +1,80 @@
+package com.bank.manager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for moving old transactions out of the heap into compressed on-disk segments.
+ * Every running instance writes into its own subdirectory of {@code directory}, so the
+ * directory can be shared; {@code maxSegmentBytes} is capped at 1 GiB.
+ */
+@ConfigurationProperties(prefix = "bank.storage.tiering")
+public class TieringProperties {
+
+    private boolean enabled = false;
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "bank-manager", "segments");
+    private Duration interval = Duration.ofMinutes(1);
+    private Duration hotRetention = Duration.ofHours(1);
+    private long maxHotTransactions = 1_000_000;
+    private int blockSize = 256;
+    private long maxSegmentBytes = 256L * 1024 * 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public Duration getHotRetention() {
+        return hotRetention;
+    }
+
+    public void setHotRetention(Duration hotRetention) {
+        this.hotRetention = hotRetention;
+    }
+
+    public long getMaxHotTransactions() {
+        return maxHotTransactions;
+    }
+
+    public void setMaxHotTransactions(long maxHotTransactions) {
+        this.maxHotTransactions = maxHotTransactions;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    public long getMaxSegmentBytes() {
+        return maxSegmentBytes;
+    }
+
+    public void setMaxSegmentBytes(long maxSegmentBytes) {
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+}
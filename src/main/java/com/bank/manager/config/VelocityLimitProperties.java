@@ -0,0 +1,92 @@
+package com.bank.manager.config;
+
+import com.bank.manager.model.AccountClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outflow (withdrawal and outgoing transfer) limits per account class, each over a sliding window.
+ * Disabled unless {@code bank.velocity.enabled} is set, since any default limits would reject
+ * legitimate traffic of deployments that never configured them.
+ */
+@ConfigurationProperties(prefix = "bank.velocity")
+public class VelocityLimitProperties {
+
+    private boolean enabled;
+    private Duration evictionInterval = Duration.ofMinutes(5);
+    private Map<AccountClass, List<Rule>> limits = new EnumMap<>(AccountClass.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    public void setEvictionInterval(Duration evictionInterval) {
+        this.evictionInterval = evictionInterval;
+    }
+
+    public Map<AccountClass, List<Rule>> getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Map<AccountClass, List<Rule>> limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * A limit on the number and/or total amount of outflows within a window. The window is
+     * tracked in {@code buckets} slots, so it slides in steps of window / buckets.
+     */
+    public static class Rule {
+
+        private Duration window = Duration.ofMinutes(1);
+        private int buckets = 12;
+        private Long maxCount;
+        private BigDecimal maxAmount;
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(int buckets) {
+            this.buckets = buckets;
+        }
+
+        public Long getMaxCount() {
+            return maxCount;
+        }
+
+        public void setMaxCount(Long maxCount) {
+            this.maxCount = maxCount;
+        }
+
+        public BigDecimal getMaxAmount() {
+            return maxAmount;
+        }
+
+        public void setMaxAmount(BigDecimal maxAmount) {
+            this.maxAmount = maxAmount;
+        }
+    }
+
+}
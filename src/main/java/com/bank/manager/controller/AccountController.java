@@ -3,16 +3,20 @@ package com.bank.manager.controller;
 import com.bank.manager.dto.*;
 import com.bank.manager.service.AccountService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/accounts")
 public class AccountController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private final AccountService accountService;
 
     public AccountController(AccountService accountService) {
@@ -52,9 +56,35 @@ public class AccountController {
         return ResponseEntity.ok(accountService.transfer(request));
     }
 
+    @GetMapping("/{accountId}/balance")
+    public ResponseEntity<BalanceResponse> getBalanceAsOf(
+            @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(accountService.getBalanceAsOf(accountId, asOf));
+    }
+
+    @GetMapping("/balances")
+    public ResponseEntity<List<BalanceResponse>> getBalancesAsOf(
+            @RequestParam List<Long> ids,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(accountService.getBalancesAsOf(ids, asOf));
+    }
+
     @GetMapping("/{accountId}/transactions")
-    public ResponseEntity<List<TransactionResponse>> getTransactions(@PathVariable Long accountId) {
-        return ResponseEntity.ok(accountService.getTransactionsForAccount(accountId));
+    public ResponseEntity<List<TransactionResponse>> getTransactions(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long beforeId) {
+        if (limit != null || beforeId != null) {
+            if (from != null || to != null) {
+                throw new IllegalArgumentException("limit/beforeId cannot be combined with from/to");
+            }
+            return ResponseEntity.ok(accountService.getTransactionPage(accountId, beforeId,
+                    limit == null ? DEFAULT_PAGE_SIZE : limit));
+        }
+        return ResponseEntity.ok(accountService.getTransactionsForAccount(accountId, from, to));
     }
 
 }
\ No newline at end of file
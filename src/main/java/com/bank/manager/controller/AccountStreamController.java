@@ -0,0 +1,59 @@
+package com.bank.manager.controller;
+
+import com.bank.manager.config.StreamProperties;
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.service.AccountService;
+import com.bank.manager.stream.LedgerStreamBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/accounts")
+public class AccountStreamController {
+
+    private final AccountService accountService;
+    private final LedgerStreamBroadcaster broadcaster;
+    private final StreamProperties properties;
+
+    public AccountStreamController(AccountService accountService,
+                                   LedgerStreamBroadcaster broadcaster,
+                                   StreamProperties properties) {
+        this.accountService = accountService;
+        this.broadcaster = broadcaster;
+        this.properties = properties;
+    }
+
+    /**
+     * Streams balance changes and new transactions of the given accounts.
+     * Clients resume after a reconnect with {@code fromSequence} or the standard Last-Event-ID header.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam Set<Long> ids,
+                             @RequestParam(required = false) Long fromSequence,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId)
+            throws IOException {
+        if (ids.isEmpty() || ids.size() > properties.getMaxAccountsPerSubscription()) {
+            throw new IllegalArgumentException("ids must contain between 1 and "
+                    + properties.getMaxAccountsPerSubscription() + " account ids");
+        }
+        // Ensure all accounts exist (otherwise 404)
+        ids.forEach(accountService::getAccountById);
+
+        Long resumeFrom = fromSequence != null ? fromSequence : lastEventId;
+        return broadcaster.subscribe(ids, resumeFrom, () -> currentState(ids));
+    }
+
+    // all private methods below
+    private List<AccountResponse> currentState(Set<Long> ids) {
+        return ids.stream()
+                .map(accountService::getAccountById)
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.bank.manager.controller;
+
+import com.bank.manager.dto.ReconciliationReportResponse;
+import com.bank.manager.service.ReconciliationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final ReconciliationService reconciliationService;
+
+    public AdminController(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @PostMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReportResponse> startReconciliation() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationService.startReconciliation());
+    }
+
+    @GetMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReportResponse> getReconciliation() {
+        return reconciliationService.getLatestReport()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+}
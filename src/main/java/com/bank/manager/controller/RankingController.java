@@ -0,0 +1,34 @@
+package com.bank.manager.controller;
+
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.dto.TransactionResponse;
+import com.bank.manager.service.RankingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/accounts/top")
+public class RankingController {
+
+    private final RankingService rankingService;
+
+    public RankingController(RankingService rankingService) {
+        this.rankingService = rankingService;
+    }
+
+    @GetMapping("/balances")
+    public ResponseEntity<List<AccountResponse>> getTopBalances(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(rankingService.getTopBalances(limit));
+    }
+
+    @GetMapping("/transfers")
+    public ResponseEntity<List<TransactionResponse>> getTopTransfers(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(rankingService.getTopTransfers(limit));
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.bank.manager.controller;
+
+import com.bank.manager.dto.ReplicationStatusResponse;
+import com.bank.manager.service.ReplicationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/replication")
+public class ReplicationController {
+
+    private final ReplicationService replicationService;
+
+    public ReplicationController(ReplicationService replicationService) {
+        this.replicationService = replicationService;
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<ReplicationStatusResponse> getStatus() {
+        return ResponseEntity.ok(replicationService.getStatus());
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.bank.manager.controller;
+
+import com.bank.manager.dto.CreateStandingOrderRequest;
+import com.bank.manager.dto.StandingOrderResponse;
+import com.bank.manager.service.StandingOrderService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/standing-orders")
+public class StandingOrderController {
+
+    private final StandingOrderService standingOrderService;
+
+    public StandingOrderController(StandingOrderService standingOrderService) {
+        this.standingOrderService = standingOrderService;
+    }
+
+    @PostMapping
+    public ResponseEntity<StandingOrderResponse> createStandingOrder(
+            @Valid @RequestBody CreateStandingOrderRequest request) {
+        StandingOrderResponse response = standingOrderService.createStandingOrder(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{standingOrderId}")
+    public ResponseEntity<StandingOrderResponse> getStandingOrder(@PathVariable Long standingOrderId) {
+        return ResponseEntity.ok(standingOrderService.getStandingOrderById(standingOrderId));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<StandingOrderResponse>> getAllStandingOrders() {
+        return ResponseEntity.ok(standingOrderService.getAllStandingOrders());
+    }
+
+    @DeleteMapping("/{standingOrderId}")
+    public ResponseEntity<StandingOrderResponse> cancelStandingOrder(@PathVariable Long standingOrderId) {
+        return ResponseEntity.ok(standingOrderService.cancelStandingOrder(standingOrderId));
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.bank.manager.dto;
 
+import com.bank.manager.model.AccountClass;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -7,12 +9,18 @@ public class AccountResponse {
 
     private Long accountId;
     private String holderName;
+    private AccountClass accountClass;
     private BigDecimal balance;
     private LocalDateTime createdAt;
 
-    public AccountResponse(Long accountId, String holderName, BigDecimal balance, LocalDateTime createdAt) {
+    public AccountResponse(Long accountId,
+                           String holderName,
+                           AccountClass accountClass,
+                           BigDecimal balance,
+                           LocalDateTime createdAt) {
         this.accountId = accountId;
         this.holderName = holderName;
+        this.accountClass = accountClass;
         this.balance = balance;
         this.createdAt = createdAt;
     }
@@ -25,6 +33,10 @@ public class AccountResponse {
         return holderName;
     }
 
+    public AccountClass getAccountClass() {
+        return accountClass;
+    }
+
     public BigDecimal getBalance() {
         return balance;
     }
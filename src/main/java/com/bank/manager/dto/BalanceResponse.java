@@ -0,0 +1,39 @@
+package com.bank.manager.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of an account at a point in time, with the transaction that produced it
+ * (null if no transaction had been recorded by then).
+ */
+public class BalanceResponse {
+
+    private Long accountId;
+    private LocalDateTime asOf;
+    private BigDecimal balance;
+    private Long transactionId;
+
+    public BalanceResponse(Long accountId, LocalDateTime asOf, BigDecimal balance, Long transactionId) {
+        this.accountId = accountId;
+        this.asOf = asOf;
+        this.balance = balance;
+        this.transactionId = transactionId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+}
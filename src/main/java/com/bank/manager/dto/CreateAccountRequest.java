@@ -1,5 +1,6 @@
 package com.bank.manager.dto;
 
+import com.bank.manager.model.AccountClass;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
@@ -14,6 +15,9 @@ public class CreateAccountRequest {
     @PositiveOrZero(message = "Initial balance must be zero or positive")
     private BigDecimal initialBalance;
 
+    // optional, defaults to STANDARD
+    private AccountClass accountClass;
+
     public String getHolderName() {
         return holderName;
     }
@@ -30,4 +34,12 @@ public class CreateAccountRequest {
         this.initialBalance = initialBalance;
     }
 
+    public AccountClass getAccountClass() {
+        return accountClass;
+    }
+
+    public void setAccountClass(AccountClass accountClass) {
+        this.accountClass = accountClass;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.bank.manager.dto;
+
+import com.bank.manager.model.Discrepancy;
+
+public class DiscrepancyResponse {
+
+    private Discrepancy.Type type;
+    private Long accountId;
+    private Long transactionId;
+    private String message;
+
+    public DiscrepancyResponse(Discrepancy.Type type, Long accountId, Long transactionId, String message) {
+        this.type = type;
+        this.accountId = accountId;
+        this.transactionId = transactionId;
+        this.message = message;
+    }
+
+    public static DiscrepancyResponse from(Discrepancy discrepancy) {
+        return new DiscrepancyResponse(
+                discrepancy.getType(),
+                discrepancy.getAccountId(),
+                discrepancy.getTransactionId(),
+                discrepancy.getMessage()
+        );
+    }
+
+    public Discrepancy.Type getType() {
+        return type;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+}
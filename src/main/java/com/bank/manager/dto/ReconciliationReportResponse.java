@@ -0,0 +1,74 @@
+package com.bank.manager.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ReconciliationReportResponse {
+
+    private long runId;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long snapshotTransactionId;
+    private int totalAccounts;
+    private int checkedAccounts;
+    private long discrepancyCount;
+    private List<DiscrepancyResponse> discrepancies;
+
+    public ReconciliationReportResponse(long runId,
+                                        String status,
+                                        LocalDateTime startedAt,
+                                        LocalDateTime finishedAt,
+                                        long snapshotTransactionId,
+                                        int totalAccounts,
+                                        int checkedAccounts,
+                                        long discrepancyCount,
+                                        List<DiscrepancyResponse> discrepancies) {
+        this.runId = runId;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.snapshotTransactionId = snapshotTransactionId;
+        this.totalAccounts = totalAccounts;
+        this.checkedAccounts = checkedAccounts;
+        this.discrepancyCount = discrepancyCount;
+        this.discrepancies = discrepancies;
+    }
+
+    public long getRunId() {
+        return runId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getSnapshotTransactionId() {
+        return snapshotTransactionId;
+    }
+
+    public int getTotalAccounts() {
+        return totalAccounts;
+    }
+
+    public int getCheckedAccounts() {
+        return checkedAccounts;
+    }
+
+    public long getDiscrepancyCount() {
+        return discrepancyCount;
+    }
+
+    public List<DiscrepancyResponse> getDiscrepancies() {
+        return discrepancies;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.bank.manager.dto;
+
+import java.time.Instant;
+
+/**
+ * A replica connected to this primary, as seen by the primary.
+ */
+public class ReplicaStatusResponse {
+
+    private String address;
+    private long sentSequence;
+    private long lagEvents;
+    private Instant connectedAt;
+
+    public ReplicaStatusResponse(String address, long sentSequence, long lagEvents, Instant connectedAt) {
+        this.address = address;
+        this.sentSequence = sentSequence;
+        this.lagEvents = lagEvents;
+        this.connectedAt = connectedAt;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public long getSentSequence() {
+        return sentSequence;
+    }
+
+    public long getLagEvents() {
+        return lagEvents;
+    }
+
+    public Instant getConnectedAt() {
+        return connectedAt;
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.manager.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Replication state of this instance. Primary fields are null on a replica and the other way round.
+ */
+public class ReplicationStatusResponse {
+
+    private String role;
+    private long sequence;
+    private Long primarySequence;
+    private Long lagEvents;
+    private Long lagMillis;
+    private Boolean connected;
+    private Instant lastContactAt;
+    private List<ReplicaStatusResponse> replicas;
+
+    public ReplicationStatusResponse(String role,
+                                     long sequence,
+                                     Long primarySequence,
+                                     Long lagEvents,
+                                     Long lagMillis,
+                                     Boolean connected,
+                                     Instant lastContactAt,
+                                     List<ReplicaStatusResponse> replicas) {
+        this.role = role;
+        this.sequence = sequence;
+        this.primarySequence = primarySequence;
+        this.lagEvents = lagEvents;
+        this.lagMillis = lagMillis;
+        this.connected = connected;
+        this.lastContactAt = lastContactAt;
+        this.replicas = replicas;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Long getPrimarySequence() {
+        return primarySequence;
+    }
+
+    public Long getLagEvents() {
+        return lagEvents;
+    }
+
+    public Long getLagMillis() {
+        return lagMillis;
+    }
+
+    public Boolean getConnected() {
+        return connected;
+    }
+
+    public Instant getLastContactAt() {
+        return lastContactAt;
+    }
+
+    public List<ReplicaStatusResponse> getReplicas() {
+        return replicas;
+    }
+}
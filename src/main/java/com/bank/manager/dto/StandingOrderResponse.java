@@ -0,0 +1,107 @@
+package com.bank.manager.dto;
+
+import com.bank.manager.model.StandingOrder;
+import com.bank.manager.model.StandingOrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class StandingOrderResponse {
+
+    private Long standingOrderId;
+    private Long fromAccountId;
+    private Long toAccountId;
+    private BigDecimal amount;
+    private String schedule;
+    private StandingOrderStatus status;
+    private LocalDateTime nextExecutionAt;
+    private int failedAttempts;
+    private long executionCount;
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    public StandingOrderResponse(Long standingOrderId,
+                                 Long fromAccountId,
+                                 Long toAccountId,
+                                 BigDecimal amount,
+                                 String schedule,
+                                 StandingOrderStatus status,
+                                 LocalDateTime nextExecutionAt,
+                                 int failedAttempts,
+                                 long executionCount,
+                                 String lastError,
+                                 LocalDateTime createdAt) {
+        this.standingOrderId = standingOrderId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.schedule = schedule;
+        this.status = status;
+        this.nextExecutionAt = nextExecutionAt;
+        this.failedAttempts = failedAttempts;
+        this.executionCount = executionCount;
+        this.lastError = lastError;
+        this.createdAt = createdAt;
+    }
+
+    public static StandingOrderResponse from(StandingOrder order) {
+        return new StandingOrderResponse(
+                order.getStandingOrderId(),
+                order.getFromAccountId(),
+                order.getToAccountId(),
+                order.getAmount(),
+                order.getSchedule(),
+                order.getStatus(),
+                order.getNextExecutionAt(),
+                order.getFailedAttempts(),
+                order.getExecutionCount(),
+                order.getLastError(),
+                order.getCreatedAt()
+        );
+    }
+
+    public Long getStandingOrderId() {
+        return standingOrderId;
+    }
+
+    public Long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public Long getToAccountId() {
+        return toAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public StandingOrderStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getNextExecutionAt() {
+        return nextExecutionAt;
+    }
+
+    public int getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.bank.manager.dto;
+
+/**
+ * Outcome of one transfer inside a batch: either the response or the exception that rejected it.
+ */
+public class TransferResult {
+
+    private final TransferResponse response;
+    private final RuntimeException error;
+
+    private TransferResult(TransferResponse response, RuntimeException error) {
+        this.response = response;
+        this.error = error;
+    }
+
+    public static TransferResult success(TransferResponse response) {
+        return new TransferResult(response, null);
+    }
+
+    public static TransferResult failure(RuntimeException error) {
+        return new TransferResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public TransferResponse getResponse() {
+        return response;
+    }
+
+    public RuntimeException getError() {
+        return error;
+    }
+
+}
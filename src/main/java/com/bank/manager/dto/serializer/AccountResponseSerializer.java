@@ -0,0 +1,61 @@
+package com.bank.manager.dto.serializer;
+
+import com.bank.manager.dto.AccountResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer for {@link AccountResponse}, avoiding bean introspection.
+ */
+@JsonComponent
+public class AccountResponseSerializer extends JsonSerializer<AccountResponse> {
+
+    private static final SerializedString ACCOUNT_ID = new SerializedString("accountId");
+    private static final SerializedString HOLDER_NAME = new SerializedString("holderName");
+    private static final SerializedString ACCOUNT_CLASS = new SerializedString("accountClass");
+    private static final SerializedString BALANCE = new SerializedString("balance");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+
+    @Override
+    public void serialize(AccountResponse value, JsonGenerator gen, SerializerProvider serializers)
+            throws IOException {
+        write(value, gen);
+    }
+
+    static void write(AccountResponse value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(value);
+        gen.writeFieldName(ACCOUNT_ID);
+        writeLong(gen, value.getAccountId());
+        gen.writeFieldName(HOLDER_NAME);
+        gen.writeString(value.getHolderName());
+        gen.writeFieldName(ACCOUNT_CLASS);
+        if (value.getAccountClass() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value.getAccountClass().name());
+        }
+        gen.writeFieldName(BALANCE);
+        JsonValueWriter.writeDecimal(gen, value.getBalance());
+        gen.writeFieldName(CREATED_AT);
+        JsonValueWriter.writeDateTime(gen, value.getCreatedAt());
+        gen.writeEndObject();
+    }
+
+    static void writeLong(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.bank.manager.dto.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes BigDecimal and LocalDateTime values through a per-thread char buffer
+ * instead of building intermediate Strings.
+ * <p>
+ * The output is identical to Jackson's defaults ({@link BigDecimal#toString()}
+ * and ISO-8601 local date-time). Values outside the fast path (huge numbers,
+ * exponent notation, years beyond 9999) are delegated to the generator.
+ */
+final class JsonValueWriter {
+
+    private static final int BUFFER_SIZE = 48;
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[BUFFER_SIZE]);
+
+    private JsonValueWriter() {
+    }
+
+    static void writeDecimal(JsonGenerator gen, BigDecimal value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int scale = value.scale();
+        // toString() switches to exponent notation for negative scale or very small values
+        if (scale < 0 || value.precision() - scale - 1 < -6 || value.unscaledValue().bitLength() > 62) {
+            gen.writeNumber(value);
+            return;
+        }
+
+        char[] buf = BUFFER.get();
+        long unscaled = value.unscaledValue().longValue();
+        boolean negative = unscaled < 0;
+        // bitLength() <= 62 guarantees the negation cannot overflow
+        long magnitude = negative ? -unscaled : unscaled;
+
+        int pos = buf.length;
+        int digits = 0;
+        do {
+            if (digits == scale && scale > 0) {
+                buf[--pos] = '.';
+            }
+            buf[--pos] = (char) ('0' + (magnitude % 10));
+            magnitude /= 10;
+            digits++;
+        } while (magnitude != 0 || digits <= scale);
+        if (negative) {
+            buf[--pos] = '-';
+        }
+        gen.writeNumber(buf, pos, buf.length - pos);
+    }
+
+    static void writeDateTime(JsonGenerator gen, LocalDateTime value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+
+        char[] buf = BUFFER.get();
+        int pos = 0;
+        pos = writePadded(buf, pos, year, 4);
+        buf[pos++] = '-';
+        pos = writePadded(buf, pos, value.getMonthValue(), 2);
+        buf[pos++] = '-';
+        pos = writePadded(buf, pos, value.getDayOfMonth(), 2);
+        buf[pos++] = 'T';
+        pos = writePadded(buf, pos, value.getHour(), 2);
+        buf[pos++] = ':';
+        pos = writePadded(buf, pos, value.getMinute(), 2);
+        buf[pos++] = ':';
+        pos = writePadded(buf, pos, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            // ISO_LOCAL_DATE_TIME prints the fraction without trailing zeros
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buf[pos++] = '.';
+            pos = writePadded(buf, pos, nano, width);
+        }
+        gen.writeString(buf, 0, pos);
+    }
+
+    // all private methods below
+    private static int writePadded(char[] buf, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.bank.manager.dto.serializer;
+
+import com.bank.manager.dto.TransactionResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer for {@link TransactionResponse}, avoiding bean introspection.
+ */
+@JsonComponent
+public class TransactionResponseSerializer extends JsonSerializer<TransactionResponse> {
+
+    private static final SerializedString TRANSACTION_ID = new SerializedString("transactionId");
+    private static final SerializedString ACCOUNT_ID = new SerializedString("accountId");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString BALANCE_AFTER = new SerializedString("balanceAfter");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString RELATED_ACCOUNT_ID = new SerializedString("relatedAccountId");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+
+    @Override
+    public void serialize(TransactionResponse value, JsonGenerator gen, SerializerProvider serializers)
+            throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(TRANSACTION_ID);
+        AccountResponseSerializer.writeLong(gen, value.getTransactionId());
+        gen.writeFieldName(ACCOUNT_ID);
+        AccountResponseSerializer.writeLong(gen, value.getAccountId());
+        gen.writeFieldName(TYPE);
+        if (value.getType() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value.getType().name());
+        }
+        gen.writeFieldName(AMOUNT);
+        JsonValueWriter.writeDecimal(gen, value.getAmount());
+        gen.writeFieldName(BALANCE_AFTER);
+        JsonValueWriter.writeDecimal(gen, value.getBalanceAfter());
+        gen.writeFieldName(CREATED_AT);
+        JsonValueWriter.writeDateTime(gen, value.getCreatedAt());
+        gen.writeFieldName(RELATED_ACCOUNT_ID);
+        AccountResponseSerializer.writeLong(gen, value.getRelatedAccountId());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(value.getDescription());
+        gen.writeEndObject();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.bank.manager.dto.serializer;
+
+import com.bank.manager.dto.TransferResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer for {@link TransferResponse}, avoiding bean introspection.
+ */
+@JsonComponent
+public class TransferResponseSerializer extends JsonSerializer<TransferResponse> {
+
+    private static final SerializedString FROM_ACCOUNT = new SerializedString("fromAccount");
+    private static final SerializedString TO_ACCOUNT = new SerializedString("toAccount");
+
+    @Override
+    public void serialize(TransferResponse value, JsonGenerator gen, SerializerProvider serializers)
+            throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(FROM_ACCOUNT);
+        AccountResponseSerializer.write(value.getFromAccount(), gen);
+        gen.writeFieldName(TO_ACCOUNT);
+        AccountResponseSerializer.write(value.getToAccount(), gen);
+        gen.writeEndObject();
+    }
+
+}
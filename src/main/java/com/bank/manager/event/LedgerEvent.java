@@ -0,0 +1,103 @@
+package com.bank.manager.event;
+
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable record of one applied ledger mutation, numbered by a global sequence.
+ * <p>
+ * Account events carry a copy of the account state after the change; transaction
+ * events carry the recorded (append-only) transaction.
+ */
+public class LedgerEvent {
+
+    public enum Type {
+        ACCOUNT_UPDATED,
+        TRANSACTION_RECORDED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final Long accountId;
+    private final String holderName;
+    private final AccountClass accountClass;
+    private final BigDecimal balance;
+    private final LocalDateTime accountCreatedAt;
+    private final Transaction transaction;
+    private final Instant publishedAt;
+
+    private LedgerEvent(long sequence,
+                        Type type,
+                        Long accountId,
+                        String holderName,
+                        AccountClass accountClass,
+                        BigDecimal balance,
+                        LocalDateTime accountCreatedAt,
+                        Transaction transaction,
+                        Instant publishedAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.accountId = accountId;
+        this.holderName = holderName;
+        this.accountClass = accountClass;
+        this.balance = balance;
+        this.accountCreatedAt = accountCreatedAt;
+        this.transaction = transaction;
+        this.publishedAt = publishedAt;
+    }
+
+    public static LedgerEvent accountUpdated(long sequence, Account account, Instant publishedAt) {
+        return new LedgerEvent(sequence, Type.ACCOUNT_UPDATED, account.getAccountId(), account.getHolderName(),
+                account.getAccountClass(), account.getBalance(), account.getCreatedAt(), null, publishedAt);
+    }
+
+    public static LedgerEvent transactionRecorded(long sequence, Transaction transaction, Instant publishedAt) {
+        return new LedgerEvent(sequence, Type.TRANSACTION_RECORDED, transaction.getAccountId(), null,
+                null, transaction.getBalanceAfter(), null, transaction, publishedAt);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getHolderName() {
+        return holderName;
+    }
+
+    public AccountClass getAccountClass() {
+        return accountClass;
+    }
+
+    /**
+     * Balance of the account after this event.
+     */
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public LocalDateTime getAccountCreatedAt() {
+        return accountCreatedAt;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+}
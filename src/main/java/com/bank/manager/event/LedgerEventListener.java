@@ -0,0 +1,20 @@
+package com.bank.manager.event;
+
+/**
+ * Receives every ledger event in sequence order.
+ * <p>
+ * Listeners are called on the writer's thread while the ledger lock is held,
+ * so they must never block.
+ */
+public interface LedgerEventListener {
+
+    void onLedgerEvent(LedgerEvent event);
+
+    /**
+     * Called after the ledger was replaced wholesale (a replica loading a snapshot),
+     * so listeners can rebuild any state derived from earlier events.
+     */
+    default void onLedgerRestored() {
+    }
+
+}
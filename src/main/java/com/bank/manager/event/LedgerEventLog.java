@@ -0,0 +1,71 @@
+package com.bank.manager.event;
+
+import com.bank.manager.config.LedgerEventProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded ring of the most recent ledger events, used to resume consumers from a sequence number.
+ */
+@Component
+public class LedgerEventLog {
+
+    private final AtomicReferenceArray<LedgerEvent> ring;
+    private final int mask;
+    private volatile long lastSequence;
+
+    public LedgerEventLog(LedgerEventProperties properties) {
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getLogCapacity()) * 2 - 1);
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    void append(LedgerEvent event) {
+        ring.set((int) (event.getSequence() & mask), event);
+        lastSequence = event.getSequence();
+    }
+
+    /**
+     * Drops all logged events and continues numbering after {@code sequence}. Consumers
+     * asking for older events are told they are gone.
+     */
+    void reset(long sequence) {
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+        lastSequence = sequence;
+    }
+
+    /**
+     * Sequence number of the newest logged event, or 0 if there is none.
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns the events after {@code sequence}, oldest first, or empty if some of them
+     * have already been overwritten. A sequence beyond the newest event was handed out
+     * before a restart or restore reset the numbering and is not resumable either.
+     */
+    public Optional<List<LedgerEvent>> eventsAfter(long sequence) {
+        long last = lastSequence;
+        if (sequence > last || last - sequence > ring.length()) {
+            return Optional.empty();
+        }
+        List<LedgerEvent> events = new ArrayList<>((int) Math.max(0, last - sequence));
+        for (long next = sequence + 1; next <= last; next++) {
+            LedgerEvent event = ring.get((int) (next & mask));
+            if (event == null || event.getSequence() != next) {
+                return Optional.empty();
+            }
+            events.add(event);
+        }
+        return Optional.of(events);
+    }
+
+}
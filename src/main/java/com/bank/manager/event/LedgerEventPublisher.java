@@ -0,0 +1,99 @@
+package com.bank.manager.event;
+
+import com.bank.manager.model.Account;
+import com.bank.manager.model.Transaction;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Numbers ledger mutations with a global sequence and fans them out to listeners.
+ */
+@Component
+public class LedgerEventPublisher {
+
+    private final LedgerEventLog eventLog;
+    private final List<LedgerEventListener> listeners;
+    // per-thread holder, so a request can report the sequence of its own last write
+    private final ThreadLocal<long[]> lastPublishedByThread = ThreadLocal.withInitial(() -> new long[1]);
+    private long sequence;
+
+    public LedgerEventPublisher(LedgerEventLog eventLog, List<LedgerEventListener> listeners) {
+        this.eventLog = eventLog;
+        this.listeners = listeners;
+    }
+
+    /**
+     * Publishes the current state of an account.
+     *
+     * @return the sequence number of the event
+     */
+    public synchronized long publishAccountUpdated(Account account) {
+        return dispatch(LedgerEvent.accountUpdated(++sequence, account, Instant.now()));
+    }
+
+    /**
+     * Publishes a newly recorded transaction.
+     *
+     * @return the sequence number of the event
+     */
+    public synchronized long publishTransactionRecorded(Transaction transaction) {
+        return dispatch(LedgerEvent.transactionRecorded(++sequence, transaction, Instant.now()));
+    }
+
+    /**
+     * Re-publishes an event received from the primary under its original sequence number.
+     *
+     * @throws IllegalStateException if the event does not directly follow the last one
+     */
+    public synchronized void publishReplicated(LedgerEvent event) {
+        if (event.getSequence() != sequence + 1) {
+            throw new IllegalStateException("Expected ledger event " + (sequence + 1)
+                    + " but received " + event.getSequence());
+        }
+        sequence = event.getSequence();
+        dispatch(event);
+    }
+
+    /**
+     * Continues numbering after {@code sequence} once the ledger has been replaced by a
+     * snapshot taken at that sequence. The event log restarts empty.
+     */
+    public synchronized void restore(long sequence) {
+        this.sequence = sequence;
+        eventLog.reset(sequence);
+        for (LedgerEventListener listener : listeners) {
+            listener.onLedgerRestored();
+        }
+    }
+
+    /**
+     * Returns and clears the sequence number of the last event published by the calling
+     * thread, or 0 if it published none since the last call.
+     */
+    public long takeLastPublishedSequence() {
+        long[] holder = lastPublishedByThread.get();
+        long last = holder[0];
+        holder[0] = 0;
+        return last;
+    }
+
+    /**
+     * Sequence number of the last published event, or 0 if none was published yet.
+     */
+    public synchronized long currentSequence() {
+        return sequence;
+    }
+
+    // all private methods below
+    private long dispatch(LedgerEvent event) {
+        eventLog.append(event);
+        lastPublishedByThread.get()[0] = event.getSequence();
+        for (LedgerEventListener listener : listeners) {
+            listener.onLedgerEvent(event);
+        }
+        return event.getSequence();
+    }
+
+}
@@ -2,11 +2,14 @@ package com.bank.manager.exception;
 
 import com.bank.manager.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.Instant;
 import java.util.stream.Collectors;
@@ -20,12 +23,48 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.NOT_FOUND, request);
     }
 
+    @ExceptionHandler(StandingOrderNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleStandingOrderNotFound(StandingOrderNotFoundException ex,
+                                                                     HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.NOT_FOUND, request);
+    }
+
     @ExceptionHandler(InsufficientBalanceException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientBalance(InsufficientBalanceException ex,
                                                                    HttpServletRequest request) {
         return buildErrorResponse(ex, HttpStatus.UNPROCESSABLE_ENTITY, request);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloaded(ServiceOverloadedException ex,
+                                                                 HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, request, retryAfter(ex.getRetryAfterSeconds()));
+    }
+
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public ResponseEntity<ErrorResponse> handleReadOnlyReplica(ReadOnlyReplicaException ex,
+                                                               HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.METHOD_NOT_ALLOWED, request, allow("GET, HEAD, OPTIONS"));
+    }
+
+    @ExceptionHandler(ReplicaBehindException.class)
+    public ResponseEntity<ErrorResponse> handleReplicaBehind(ReplicaBehindException ex,
+                                                             HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, request, retryAfter(ex.getRetryAfterSeconds()));
+    }
+
+    @ExceptionHandler(StaleLedgerSequenceException.class)
+    public ResponseEntity<ErrorResponse> handleStaleLedgerSequence(StaleLedgerSequenceException ex,
+                                                                   HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(VelocityLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleVelocityLimitExceeded(VelocityLimitExceededException ex,
+                                                                     HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.TOO_MANY_REQUESTS, request, retryAfter(ex.getRetryAfterSeconds()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex,
                                                           HttpServletRequest request) {
@@ -44,6 +83,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequestParameter(Exception ex,
+                                                                   HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex,
                                                                HttpServletRequest request) {
@@ -68,6 +113,13 @@ public class GlobalExceptionHandler {
     private ResponseEntity<ErrorResponse> buildErrorResponse(Exception ex,
                                                              HttpStatus status,
                                                              HttpServletRequest request) {
+        return buildErrorResponse(ex, status, request, HttpHeaders.EMPTY);
+    }
+
+    private ResponseEntity<ErrorResponse> buildErrorResponse(Exception ex,
+                                                             HttpStatus status,
+                                                             HttpServletRequest request,
+                                                             HttpHeaders headers) {
         ErrorResponse body = new ErrorResponse(
                 Instant.now(),
                 status.value(),
@@ -75,7 +127,19 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 request.getRequestURI()
         );
-        return ResponseEntity.status(status).body(body);
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    private static HttpHeaders retryAfter(long seconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        return headers;
+    }
+
+    private static HttpHeaders allow(String methods) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ALLOW, methods);
+        return headers;
     }
 
 }
\ No newline at end of file
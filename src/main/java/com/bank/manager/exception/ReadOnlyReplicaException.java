@@ -0,0 +1,9 @@
+package com.bank.manager.exception;
+
+public class ReadOnlyReplicaException extends RuntimeException {
+
+    public ReadOnlyReplicaException(String method) {
+        super("This instance is a read-only replica; send " + method + " requests to the primary");
+    }
+
+}
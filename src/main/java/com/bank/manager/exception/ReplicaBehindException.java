@@ -0,0 +1,17 @@
+package com.bank.manager.exception;
+
+public class ReplicaBehindException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ReplicaBehindException(long requiredSequence, long appliedSequence, long retryAfterSeconds) {
+        super("Replica has applied ledger sequence " + appliedSequence + " but " + requiredSequence
+                + " was requested, please retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.bank.manager.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String bulkhead, long retryAfterSeconds) {
+        super("Service is overloaded (" + bulkhead + " capacity exhausted), please retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.bank.manager.exception;
+
+public class StaleLedgerSequenceException extends RuntimeException {
+
+    public StaleLedgerSequenceException(long requiredSequence, long epoch) {
+        super("Ledger sequence " + requiredSequence + " was issued by primary epoch " + epoch
+                + ", which this replica does not follow; read from the primary");
+    }
+
+}
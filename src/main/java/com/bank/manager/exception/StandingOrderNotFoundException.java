@@ -0,0 +1,9 @@
+package com.bank.manager.exception;
+
+public class StandingOrderNotFoundException extends RuntimeException {
+
+    public StandingOrderNotFoundException(Long standingOrderId) {
+        super("Standing order with id " + standingOrderId + " not found");
+    }
+
+}
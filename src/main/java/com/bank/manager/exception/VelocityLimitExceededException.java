@@ -0,0 +1,18 @@
+package com.bank.manager.exception;
+
+import java.time.Duration;
+
+public class VelocityLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public VelocityLimitExceededException(Long accountId, String limit, Duration window, long retryAfterSeconds) {
+        super("Account " + accountId + " exceeded its limit of " + limit + " per " + window);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.bank.manager.jfr;
+
+import com.bank.manager.config.FlightRecorderProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps a rolling flight recording with the bank events on top of the JDK
+ * "default" profile, and dumps it to disk on shutdown.
+ * <p>
+ * A recording can also be dumped at any time with
+ * {@code jcmd <pid> JFR.dump name=bank-manager filename=ledger.jfr}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bank.jfr", name = "enabled", havingValue = "true")
+public class LedgerFlightRecorder {
+
+    static final String RECORDING_NAME = "bank-manager";
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerFlightRecorder.class);
+
+    private final FlightRecorderProperties properties;
+    private final ResourceLoader resourceLoader;
+    private Recording recording;
+
+    public LedgerFlightRecorder(FlightRecorderProperties properties, ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(
+                resourceLoader.getResource(properties.getConfiguration()).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+
+        Files.createDirectories(properties.getDumpOnExit().toAbsolutePath().getParent());
+        recording = new Recording(settings);
+        recording.setName(RECORDING_NAME);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSizeBytes());
+        recording.setDestination(properties.getDumpOnExit());
+        recording.setToDisk(true);
+        recording.start();
+        log.info("Started flight recording '{}', dumped to {} on exit", RECORDING_NAME, properties.getDumpOnExit());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording == null) {
+            return;
+        }
+        // the JVM's own shutdown hook may have stopped (and dumped) the recording already
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+    }
+
+}
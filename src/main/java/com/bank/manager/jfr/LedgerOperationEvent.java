@@ -0,0 +1,85 @@
+package com.bank.manager.jfr;
+
+import jdk.jfr.*;
+
+import java.math.BigDecimal;
+
+/**
+ * JFR event for a single ledger write (deposit, withdrawal or transfer).
+ * <p>
+ * The event duration covers the whole operation; {@link #lockWait} and {@link #execution}
+ * split it into the time spent acquiring the account locks and the time spent holding them.
+ */
+@Name(LedgerOperationEvent.NAME)
+@Label("Ledger Operation")
+@Description("A deposit, withdrawal or transfer, with its lock wait and execution time")
+@Category({"Bank Manager", "Ledger"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class LedgerOperationEvent extends Event {
+
+    public static final String NAME = "com.bank.manager.LedgerOperation";
+
+    private static final String[] AMOUNT_BUCKETS = {
+            "<1", "1-10", "10-100", "100-1K", "1K-10K", "10K-100K", "100K-1M", ">=1M"
+    };
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Account Id")
+    long accountId;
+
+    @Label("Related Account Id")
+    @Description("Counterparty of a transfer, 0 for deposits and withdrawals")
+    long relatedAccountId;
+
+    @Label("Amount Bucket")
+    @Description("Order of magnitude of the amount, so that amounts themselves are not recorded")
+    String amountBucket;
+
+    @Label("Lock Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWait;
+
+    @Label("Execution")
+    @Timespan(Timespan.NANOSECONDS)
+    long execution;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Describes the operation. Only called for events that will be committed, so
+     * operations that are not recorded never pay for the amount bucket.
+     */
+    public void setOperation(String operation, Long accountId, Long relatedAccountId, BigDecimal amount) {
+        this.operation = operation;
+        this.accountId = accountId;
+        this.relatedAccountId = relatedAccountId == null ? 0 : relatedAccountId;
+        this.amountBucket = amountBucket(amount);
+    }
+
+    /**
+     * Records the split between lock wait and execution. Both are measured by the caller
+     * with {@link System#nanoTime()}.
+     */
+    public void setTimings(long lockWaitNanos, long executionNanos) {
+        this.lockWait = lockWaitNanos;
+        this.execution = executionNanos;
+    }
+
+    public void setSucceeded(boolean succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    static String amountBucket(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0 || amount.compareTo(BigDecimal.ONE) < 0) {
+            return AMOUNT_BUCKETS[0];
+        }
+        // precision - scale is the number of integer digits
+        int digits = amount.precision() - amount.scale();
+        return AMOUNT_BUCKETS[Math.min(digits, AMOUNT_BUCKETS.length - 1)];
+    }
+
+}
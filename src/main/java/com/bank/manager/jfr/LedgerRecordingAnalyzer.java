@@ -0,0 +1,148 @@
+package com.bank.manager.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Summarizes the bank events of a JFR recording: latency per ledger operation, the
+ * accounts that spent the most time waiting for locks, and latency per repository call.
+ * <p>
+ * Run against a recording with
+ * {@code java -cp target/classes com.bank.manager.jfr.LedgerRecordingAnalyzer ledger.jfr [topAccounts]}.
+ */
+public final class LedgerRecordingAnalyzer {
+
+    private static final int DEFAULT_TOP_ACCOUNTS = 10;
+
+    private final Map<String, Stats> operations = new TreeMap<>();
+    private final Map<Long, Stats> accounts = new HashMap<>();
+    private final Map<String, Stats> repositoryCalls = new TreeMap<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: LedgerRecordingAnalyzer <recording.jfr> [topAccounts]");
+            System.exit(2);
+        }
+        int topAccounts = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TOP_ACCOUNTS;
+        LedgerRecordingAnalyzer analyzer = new LedgerRecordingAnalyzer();
+        analyzer.read(Path.of(args[0]));
+        analyzer.print(System.out, topAccounts);
+    }
+
+    /**
+     * Adds all bank events of the recording to the summary; other events are skipped.
+     */
+    public void read(Path recording) throws IOException {
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                add(file.readEvent());
+            }
+        }
+    }
+
+    public void print(PrintStream out, int topAccounts) {
+        out.println("Ledger operations");
+        printHeader(out, "operation");
+        operations.forEach((operation, stats) -> printRow(out, operation, stats));
+
+        out.println();
+        out.println("Hot accounts (by total lock wait)");
+        printHeader(out, "account");
+        accounts.entrySet()
+                .stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, Stats> e) -> e.getValue().totalLockWait).reversed())
+                .limit(topAccounts)
+                .forEach(e -> printRow(out, String.valueOf(e.getKey()), e.getValue()));
+
+        out.println();
+        out.println("Repository calls");
+        out.printf("%-40s %8s %10s %10s %10s %12s%n", "call", "count", "p50 ms", "p99 ms", "max ms", "avg rows");
+        repositoryCalls.forEach((call, stats) -> out.printf("%-40s %8d %10.3f %10.3f %10.3f %12.1f%n",
+                call, stats.count(), millis(stats.percentile(0.5)), millis(stats.percentile(0.99)),
+                millis(stats.percentile(1.0)), (double) stats.totalRows / stats.count()));
+    }
+
+    // all private methods below
+    private void add(RecordedEvent event) {
+        String type = event.getEventType().getName();
+        long duration = event.getDuration().toNanos();
+        if (LedgerOperationEvent.NAME.equals(type)) {
+            long lockWait = event.getDuration("lockWait").toNanos();
+            boolean succeeded = event.getBoolean("succeeded");
+            operations.computeIfAbsent(event.getString("operation"), k -> new Stats())
+                    .add(duration, lockWait, succeeded, 0);
+            accounts.computeIfAbsent(event.getLong("accountId"), k -> new Stats())
+                    .add(duration, lockWait, succeeded, 0);
+            long relatedAccountId = event.getLong("relatedAccountId");
+            if (relatedAccountId != 0) {
+                accounts.computeIfAbsent(relatedAccountId, k -> new Stats())
+                        .add(duration, lockWait, succeeded, 0);
+            }
+        } else if (RepositoryOperationEvent.NAME.equals(type)) {
+            String call = event.getString("repository") + "." + event.getString("operation");
+            repositoryCalls.computeIfAbsent(call, k -> new Stats())
+                    .add(duration, 0, true, event.getInt("resultSize"));
+        }
+    }
+
+    private static void printHeader(PrintStream out, String key) {
+        out.printf("%-20s %8s %8s %10s %10s %10s %14s%n",
+                key, "count", "failed", "p50 ms", "p99 ms", "max ms", "avg wait ms");
+    }
+
+    private static void printRow(PrintStream out, String key, Stats stats) {
+        out.printf("%-20s %8d %8d %10.3f %10.3f %10.3f %14.3f%n",
+                key, stats.count(), stats.failed, millis(stats.percentile(0.5)), millis(stats.percentile(0.99)),
+                millis(stats.percentile(1.0)), millis(stats.totalLockWait / stats.count()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) Duration.ofMillis(1).toNanos();
+    }
+
+    /**
+     * Durations of one group of events. Recordings only hold events over the configured
+     * thresholds, so keeping every duration for exact percentiles stays small.
+     */
+    private static final class Stats {
+        private long[] durations = new long[16];
+        private int size;
+        private boolean sorted;
+        private long totalLockWait;
+        private long totalRows;
+        private long failed;
+
+        void add(long duration, long lockWait, boolean succeeded, int rows) {
+            if (size == durations.length) {
+                durations = Arrays.copyOf(durations, size * 2);
+            }
+            durations[size++] = duration;
+            sorted = false;
+            totalLockWait += lockWait;
+            totalRows += rows;
+            if (!succeeded) {
+                failed++;
+            }
+        }
+
+        int count() {
+            return size;
+        }
+
+        long percentile(double p) {
+            if (!sorted) {
+                Arrays.sort(durations, 0, size);
+                sorted = true;
+            }
+            int index = (int) Math.ceil(p * size) - 1;
+            return durations[Math.max(0, Math.min(index, size - 1))];
+        }
+    }
+
+}
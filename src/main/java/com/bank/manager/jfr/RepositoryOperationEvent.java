@@ -0,0 +1,65 @@
+package com.bank.manager.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event for a repository call, e.g. a save or a transaction history lookup.
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findByAccountId", accountId);
+ * List<Transaction> result = ...;
+ * event.finish(result.size());
+ * }</pre>
+ */
+@Name(RepositoryOperationEvent.NAME)
+@Label("Repository Operation")
+@Description("A call into an account or transaction repository")
+@Category({"Bank Manager", "Repository"})
+@StackTrace(false)
+@Threshold("5 ms")
+public class RepositoryOperationEvent extends Event {
+
+    public static final String NAME = "com.bank.manager.RepositoryOperation";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Account Id")
+    long accountId;
+
+    @Label("Result Size")
+    @Description("Number of rows written or returned")
+    int resultSize;
+
+    private RepositoryOperationEvent(String repository, String operation, long accountId) {
+        this.repository = repository;
+        this.operation = operation;
+        this.accountId = accountId;
+    }
+
+    /**
+     * Creates the event and starts timing it.
+     */
+    public static RepositoryOperationEvent start(String repository, String operation, Long accountId) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent(repository, operation,
+                accountId == null ? 0 : accountId);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing and commits the event if it is enabled and over its threshold.
+     */
+    public void finish(int resultSize) {
+        end();
+        if (shouldCommit()) {
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+
+}
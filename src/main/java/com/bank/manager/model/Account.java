@@ -7,15 +7,21 @@ public class Account {
 
     private Long accountId;
     private String holderName;
+    private AccountClass accountClass;
     private BigDecimal balance;
     private LocalDateTime createdAt;
 
     public Account() {
     }
 
-    public Account(Long accountId, String holderName, BigDecimal balance, LocalDateTime createdAt) {
+    public Account(Long accountId,
+                   String holderName,
+                   AccountClass accountClass,
+                   BigDecimal balance,
+                   LocalDateTime createdAt) {
         this.accountId = accountId;
         this.holderName = holderName;
+        this.accountClass = accountClass;
         this.balance = balance;
         this.createdAt = createdAt;
     }
@@ -36,6 +42,14 @@ public class Account {
         this.holderName = holderName;
     }
 
+    public AccountClass getAccountClass() {
+        return accountClass;
+    }
+
+    public void setAccountClass(AccountClass accountClass) {
+        this.accountClass = accountClass;
+    }
+
     public BigDecimal getBalance() {
         return balance;
     }
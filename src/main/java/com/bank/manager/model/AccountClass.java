@@ -0,0 +1,10 @@
+package com.bank.manager.model;
+
+/**
+ * Product class of an account. Velocity limits are configured per class.
+ */
+public enum AccountClass {
+    STANDARD,
+    PREMIUM,
+    BUSINESS
+}
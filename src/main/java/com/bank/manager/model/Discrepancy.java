@@ -0,0 +1,43 @@
+package com.bank.manager.model;
+
+/**
+ * A ledger inconsistency found during reconciliation.
+ */
+public class Discrepancy {
+
+    public enum Type {
+        BALANCE_MISMATCH,
+        BROKEN_BALANCE_CHAIN,
+        TIMESTAMP_OUT_OF_ORDER,
+        UNMATCHED_TRANSFER
+    }
+
+    private final Type type;
+    private final Long accountId;
+    private final Long transactionId;
+    private final String message;
+
+    public Discrepancy(Type type, Long accountId, Long transactionId, String message) {
+        this.type = type;
+        this.accountId = accountId;
+        this.transactionId = transactionId;
+        this.message = message;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.bank.manager.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consistent point-in-time view of the ledger.
+ * <p>
+ * Accounts are detached copies of their state at capture time. Transactions are
+ * append-only, so the snapshot only records the highest transaction id that was
+ * committed: every transaction with a larger id happened after the snapshot.
+ */
+public class LedgerSnapshot {
+
+    private final List<Account> accounts;
+    private final long lastTransactionId;
+    private final LocalDateTime takenAt;
+
+    public LedgerSnapshot(List<Account> accounts, long lastTransactionId, LocalDateTime takenAt) {
+        this.accounts = accounts;
+        this.lastTransactionId = lastTransactionId;
+        this.takenAt = takenAt;
+    }
+
+    public List<Account> getAccounts() {
+        return accounts;
+    }
+
+    public long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public boolean includes(Transaction transaction) {
+        return transaction.getTransactionId() != null && transaction.getTransactionId() <= lastTransactionId;
+    }
+
+}
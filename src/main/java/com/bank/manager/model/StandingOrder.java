@@ -0,0 +1,131 @@
+package com.bank.manager.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Recurring transfer between two accounts, fired according to a cron schedule.
+ */
+public class StandingOrder {
+
+    private Long standingOrderId;
+    private long fromAccountId;
+    private long toAccountId;
+    private BigDecimal amount;
+    private String schedule;
+    private StandingOrderStatus status;
+    private LocalDateTime nextExecutionAt;
+    private int failedAttempts;
+    private long executionCount;
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    public StandingOrder() {
+    }
+
+    public StandingOrder(Long standingOrderId,
+                         long fromAccountId,
+                         long toAccountId,
+                         BigDecimal amount,
+                         String schedule,
+                         LocalDateTime nextExecutionAt,
+                         LocalDateTime createdAt) {
+        this.standingOrderId = standingOrderId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.schedule = schedule;
+        this.status = StandingOrderStatus.ACTIVE;
+        this.nextExecutionAt = nextExecutionAt;
+        this.createdAt = createdAt;
+    }
+
+    public Long getStandingOrderId() {
+        return standingOrderId;
+    }
+
+    public void setStandingOrderId(Long standingOrderId) {
+        this.standingOrderId = standingOrderId;
+    }
+
+    public long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(long fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public long getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(long toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
+    public StandingOrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(StandingOrderStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getNextExecutionAt() {
+        return nextExecutionAt;
+    }
+
+    public void setNextExecutionAt(LocalDateTime nextExecutionAt) {
+        this.nextExecutionAt = nextExecutionAt;
+    }
+
+    public int getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public void setFailedAttempts(int failedAttempts) {
+        this.failedAttempts = failedAttempts;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public void setExecutionCount(long executionCount) {
+        this.executionCount = executionCount;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.bank.manager.model;
+
+public enum StandingOrderStatus {
+    ACTIVE,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,78 @@
+package com.bank.manager.ranking;
+
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.model.AccountClass;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accounts ordered by balance, highest first, kept up to date on every balance change.
+ * <p>
+ * Updates insert the new entry before removing the old one, so a concurrent reader may
+ * briefly meet an account twice; it keeps only the entry that is still current. Updates
+ * themselves must not race for the same account (the ranking service applies them from one thread).
+ */
+public class BalanceIndex {
+
+    private static final Comparator<Entry> BY_BALANCE_DESC = Comparator
+            .comparing((Entry entry) -> entry.balance).reversed()
+            .thenComparingLong(entry -> entry.accountId)
+            .thenComparingLong(entry -> entry.version);
+
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(BY_BALANCE_DESC);
+    private final Map<Long, Entry> current = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    public void update(long accountId, String holderName, AccountClass accountClass, BigDecimal balance,
+                       LocalDateTime createdAt) {
+        Entry entry = new Entry(accountId, holderName, accountClass, balance, createdAt, versions.incrementAndGet());
+        ranking.add(entry);
+        Entry previous = current.put(accountId, entry);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+    }
+
+    /**
+     * Returns the {@code k} accounts with the highest balance, walking only the head of the index.
+     */
+    public List<AccountResponse> top(int k) {
+        List<AccountResponse> top = new ArrayList<>(k);
+        for (Entry entry : ranking) {
+            if (top.size() == k) {
+                break;
+            }
+            if (current.get(entry.accountId) == entry) {
+                top.add(new AccountResponse(entry.accountId, entry.holderName, entry.accountClass,
+                        entry.balance, entry.createdAt));
+            }
+        }
+        return top;
+    }
+
+    public void clear() {
+        current.clear();
+        ranking.clear();
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * The version keeps two entries of one account distinct even when their balances are equal.
+     */
+    private record Entry(long accountId, String holderName, AccountClass accountClass, BigDecimal balance,
+                         LocalDateTime createdAt, long version) {
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.bank.manager.ranking;
+
+import com.bank.manager.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Largest transfers seen within a sliding time window.
+ * <p>
+ * The window is split into fixed-width buckets arranged as a ring. Each bucket keeps
+ * only its own top {@code capacity} transfers in a min-heap, so a write costs
+ * O(log capacity) and memory stays bounded no matter how many transfers arrive. A
+ * read merges the live buckets and returns the largest {@code k}. The window slides
+ * one bucket at a time, so the oldest transfers can be up to one bucket width older
+ * than the window.
+ */
+public class TopTransfersWindow {
+
+    private static final Comparator<Transaction> BY_AMOUNT = Comparator
+            .comparing(Transaction::getAmount)
+            .thenComparing(Transaction::getTransactionId, Comparator.reverseOrder());
+
+    private final Bucket[] buckets;
+    private final long bucketWidthMillis;
+    private final int capacity;
+
+    public TopTransfersWindow(long windowMillis, long bucketWidthMillis, int capacity) {
+        if (bucketWidthMillis <= 0 || windowMillis < bucketWidthMillis || capacity <= 0) {
+            throw new IllegalArgumentException("window must span at least one bucket and capacity must be positive");
+        }
+        this.bucketWidthMillis = bucketWidthMillis;
+        this.capacity = capacity;
+        this.buckets = new Bucket[(int) ((windowMillis + bucketWidthMillis - 1) / bucketWidthMillis)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Records a transfer that happened at {@code nowMillis}.
+     */
+    public void add(Transaction transfer, long nowMillis) {
+        long epoch = nowMillis / bucketWidthMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        synchronized (bucket) {
+            if (bucket.epoch != epoch) {
+                // the slot still holds a bucket that has slid out of the window
+                bucket.epoch = epoch;
+                bucket.heap.clear();
+            }
+            if (bucket.heap.size() < capacity) {
+                bucket.heap.add(transfer);
+            } else if (BY_AMOUNT.compare(transfer, bucket.heap.peek()) > 0) {
+                bucket.heap.poll();
+                bucket.heap.add(transfer);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@code k} largest transfers of the window ending at {@code nowMillis},
+     * largest first. {@code k} is capped at the per-bucket capacity.
+     */
+    public List<Transaction> top(int k, long nowMillis) {
+        int limit = Math.min(k, capacity);
+        if (limit <= 0) {
+            return List.of();
+        }
+        long newestEpoch = nowMillis / bucketWidthMillis;
+        long oldestEpoch = newestEpoch - buckets.length + 1;
+
+        // min-heap of the best `limit` candidates across all live buckets
+        PriorityQueue<Transaction> best = new PriorityQueue<>(limit + 1, BY_AMOUNT);
+        for (Bucket bucket : buckets) {
+            synchronized (bucket) {
+                if (bucket.epoch < oldestEpoch || bucket.epoch > newestEpoch) {
+                    continue;
+                }
+                for (Transaction transfer : bucket.heap) {
+                    if (best.size() < limit) {
+                        best.add(transfer);
+                    } else if (BY_AMOUNT.compare(transfer, best.peek()) > 0) {
+                        best.poll();
+                        best.add(transfer);
+                    }
+                }
+            }
+        }
+
+        List<Transaction> top = new ArrayList<>(best);
+        top.sort(BY_AMOUNT.reversed());
+        return top;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static final class Bucket {
+        private long epoch = Long.MIN_VALUE;
+        private final PriorityQueue<Transaction> heap = new PriorityQueue<>(BY_AMOUNT);
+    }
+
+}
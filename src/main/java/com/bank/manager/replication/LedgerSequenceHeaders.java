@@ -0,0 +1,27 @@
+package com.bank.manager.replication;
+
+/**
+ * Headers used for read-your-writes across primary and replicas.
+ */
+public final class LedgerSequenceHeaders {
+
+    /**
+     * Set on write responses: the sequence number of the last ledger event the request produced.
+     */
+    public static final String LEDGER_SEQUENCE = "X-Ledger-Sequence";
+
+    /**
+     * Sent by clients to a replica: do not answer before this sequence has been applied.
+     */
+    public static final String MIN_LEDGER_SEQUENCE = "X-Min-Ledger-Sequence";
+
+    /**
+     * Set on write responses of a primary and sent back by clients along with
+     * {@link #MIN_LEDGER_SEQUENCE}: the primary run the sequence number belongs to.
+     */
+    public static final String LEDGER_EPOCH = "X-Ledger-Epoch";
+
+    private LedgerSequenceHeaders() {
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.bank.manager.replication;
+
+import com.bank.manager.event.LedgerEventPublisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds {@link LedgerSequenceHeaders#LEDGER_SEQUENCE} to responses of requests that wrote
+ * to the ledger, so clients can pass it on to replicas for read-your-writes. A primary
+ * also adds its {@link LedgerSequenceHeaders#LEDGER_EPOCH}, so that replicas can tell a
+ * sequence number from an earlier run of the primary.
+ */
+@RestControllerAdvice
+public class LedgerSequenceResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final LedgerEventPublisher eventPublisher;
+    private final ObjectProvider<ReplicationServer> replicationServer;
+
+    public LedgerSequenceResponseAdvice(LedgerEventPublisher eventPublisher,
+                                        ObjectProvider<ReplicationServer> replicationServer) {
+        this.eventPublisher = eventPublisher;
+        this.replicationServer = replicationServer;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        long sequence = eventPublisher.takeLastPublishedSequence();
+        if (sequence > 0) {
+            response.getHeaders().set(LedgerSequenceHeaders.LEDGER_SEQUENCE, Long.toString(sequence));
+            ReplicationServer server = replicationServer.getIfAvailable();
+            if (server != null) {
+                response.getHeaders().set(LedgerSequenceHeaders.LEDGER_EPOCH, Long.toString(server.getEpoch()));
+            }
+        }
+        return body;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.bank.manager.replication;
+
+import com.bank.manager.exception.ReadOnlyReplicaException;
+import com.bank.manager.exception.ReplicaBehindException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Keeps a replica read-only and, when the client asks for it with
+ * {@link LedgerSequenceHeaders#MIN_LEDGER_SEQUENCE}, holds a read back until the
+ * replica has applied the client's own writes. A sequence number that comes with the
+ * {@link LedgerSequenceHeaders#LEDGER_EPOCH} of a primary run the replica no longer follows
+ * is rejected straight away, as waiting cannot make the replica catch up with it.
+ */
+public class ReplicaRequestInterceptor implements HandlerInterceptor {
+
+    private final ReplicationClient replicationClient;
+    private final Duration readYourWritesTimeout;
+
+    public ReplicaRequestInterceptor(ReplicationClient replicationClient, Duration readYourWritesTimeout) {
+        this.replicationClient = replicationClient;
+        this.readYourWritesTimeout = readYourWritesTimeout;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method)) {
+            throw new ReadOnlyReplicaException(method);
+        }
+
+        String minSequence = request.getHeader(LedgerSequenceHeaders.MIN_LEDGER_SEQUENCE);
+        if (minSequence != null) {
+            long required = parseNumber(LedgerSequenceHeaders.MIN_LEDGER_SEQUENCE, minSequence);
+            String epoch = request.getHeader(LedgerSequenceHeaders.LEDGER_EPOCH);
+            boolean applied = epoch != null
+                    ? replicationClient.awaitSequence(parseNumber(LedgerSequenceHeaders.LEDGER_EPOCH, epoch),
+                            required, readYourWritesTimeout)
+                    : replicationClient.awaitSequence(required, readYourWritesTimeout);
+            if (!applied) {
+                throw new ReplicaBehindException(required, replicationClient.getAppliedSequence(), 1);
+            }
+        }
+        return true;
+    }
+
+    // all private methods below
+    private long parseNumber(String header, String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(header + " must be a number");
+        }
+    }
+
+}
@@ -0,0 +1,286 @@
+package com.bank.manager.replication;
+
+import com.bank.manager.config.ReplicationProperties;
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.event.LedgerEventPublisher;
+import com.bank.manager.exception.StaleLedgerSequenceException;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.repository.AccountRepository;
+import com.bank.manager.repository.InMemoryAccountRepository;
+import com.bank.manager.repository.InMemoryTransactionRepository;
+import com.bank.manager.repository.LedgerLockManager;
+import com.bank.manager.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Replica side of replication: follows the primary's event stream and applies it to the
+ * local in-memory repositories.
+ * <p>
+ * Applied events are re-published locally under their original sequence numbers, so
+ * change feeds, leaderboards and resume tokens behave the same as on the primary.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bank.replication", name = "role", havingValue = "replica")
+public class ReplicationClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationClient.class);
+
+    private static final long NO_EPOCH = 0;
+
+    private final ReplicationProperties properties;
+    private final LedgerEventPublisher eventPublisher;
+    private final LedgerLockManager lockManager;
+    private final InMemoryAccountRepository accountRepository;
+    private final InMemoryTransactionRepository transactionRepository;
+    private final Object progress = new Object();
+    private volatile boolean running;
+    // NO_EPOCH until the first snapshot, and while one is being loaded
+    private volatile long primaryEpoch = NO_EPOCH;
+    private volatile boolean bootstrapped;
+    private volatile boolean connected;
+    private volatile long primarySequence;
+    private volatile Instant lastContactAt;
+    private volatile Instant caughtUpAt;
+    private volatile Socket socket;
+    private Thread follower;
+
+    public ReplicationClient(ReplicationProperties properties,
+                             LedgerEventPublisher eventPublisher,
+                             LedgerLockManager lockManager,
+                             AccountRepository accountRepository,
+                             TransactionRepository transactionRepository) {
+        if (!(accountRepository instanceof InMemoryAccountRepository accounts)
+                || !(transactionRepository instanceof InMemoryTransactionRepository transactions)) {
+            throw new IllegalStateException("Replicas require bank.storage.backend=memory");
+        }
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.lockManager = lockManager;
+        this.accountRepository = accounts;
+        this.transactionRepository = transactions;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        follower = new Thread(this::followLoop, "replication-follower");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+        follower.interrupt();
+    }
+
+    /**
+     * Waits until the events up to {@code sequence} have been applied locally.
+     *
+     * @return false if that did not happen within {@code timeout}
+     */
+    public boolean awaitSequence(long sequence, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            while (getAppliedSequence() < sequence) {
+                long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                progress.wait(remainingMillis);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Waits until the events up to {@code sequence} of the primary run {@code epoch} have
+     * been applied locally.
+     *
+     * @return false if that did not happen within {@code timeout}
+     * @throws StaleLedgerSequenceException as soon as the replica follows another primary
+     *                                      run, whose sequence numbers are unrelated
+     */
+    public boolean awaitSequence(long epoch, long sequence, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            while (true) {
+                // a snapshot resets the epoch before the sequence, so read them the other way round
+                long applied = getAppliedSequence();
+                long followed = primaryEpoch;
+                if (followed == epoch && applied >= sequence) {
+                    return true;
+                }
+                if (followed != NO_EPOCH && followed != epoch) {
+                    throw new StaleLedgerSequenceException(sequence, epoch);
+                }
+                long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                progress.wait(remainingMillis);
+            }
+        }
+    }
+
+    /**
+     * Sequence number of the last event applied locally.
+     */
+    public long getAppliedSequence() {
+        return eventPublisher.currentSequence();
+    }
+
+    /**
+     * Latest sequence number known to exist on the primary.
+     */
+    public long getPrimarySequence() {
+        return Math.max(primarySequence, getAppliedSequence());
+    }
+
+    /**
+     * How long the local state has been stale: zero when caught up with the primary as
+     * far as known, otherwise the time since it last was.
+     */
+    public Duration getLag() {
+        if (!bootstrapped) {
+            return null;
+        }
+        if (getAppliedSequence() >= primarySequence) {
+            return Duration.ZERO;
+        }
+        return Duration.between(caughtUpAt, Instant.now());
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public Instant getLastContactAt() {
+        return lastContactAt;
+    }
+
+    // all private methods below
+    private void followLoop() {
+        while (running) {
+            try (Socket current = new Socket()) {
+                socket = current;
+                current.connect(new InetSocketAddress(properties.getPrimaryHost(), properties.getPrimaryPort()),
+                        (int) properties.getReconnectBackoff().toMillis() * 5);
+                // a primary sends at least a heartbeat per interval; silence means it is gone
+                current.setSoTimeout((int) properties.getHeartbeatInterval().toMillis() * 5);
+                current.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(current.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(current.getOutputStream()));
+
+                ReplicationProtocol.writeHello(out, new ReplicationProtocol.Hello(primaryEpoch,
+                        bootstrapped ? getAppliedSequence() : -1));
+                connected = true;
+                log.info("Following primary {}:{}", properties.getPrimaryHost(), properties.getPrimaryPort());
+                while (running) {
+                    byte type = in.readByte();
+                    lastContactAt = Instant.now();
+                    switch (type) {
+                        case ReplicationProtocol.SNAPSHOT -> applySnapshot(ReplicationProtocol.readSnapshot(in));
+                        case ReplicationProtocol.EVENTS -> applyEvents(ReplicationProtocol.readEvents(in));
+                        case ReplicationProtocol.HEARTBEAT -> onPrimarySequence(in.readLong());
+                        default -> throw new IOException("Unknown replication message type " + type);
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                if (running) {
+                    log.warn("Lost replication stream from primary, reconnecting: {}", ex.toString());
+                }
+            } finally {
+                connected = false;
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    private void applySnapshot(ReplicationSnapshot snapshot) {
+        lockManager.withLedgerLocked(() -> {
+            primaryEpoch = NO_EPOCH;
+            accountRepository.clear();
+            transactionRepository.clear();
+            for (Account account : snapshot.accounts()) {
+                accountRepository.save(account);
+            }
+            for (Transaction transaction : snapshot.transactions()) {
+                transactionRepository.save(transaction);
+            }
+            eventPublisher.restore(snapshot.sequence());
+            return null;
+        });
+        primaryEpoch = snapshot.epoch();
+        // a new primary run numbers from scratch; forget what the old one had
+        primarySequence = snapshot.sequence();
+        bootstrapped = true;
+        log.info("Loaded snapshot at sequence {} ({} accounts, {} transactions)",
+                snapshot.sequence(), snapshot.accounts().size(), snapshot.transactions().size());
+        onPrimarySequence(snapshot.sequence());
+    }
+
+    private void applyEvents(List<LedgerEvent> events) {
+        // one lock acquisition per batch keeps local snapshots consistent with a sequence
+        lockManager.withLedgerLocked(() -> {
+            for (LedgerEvent event : events) {
+                // check before applying: a gap or replayed event must not reach the repositories
+                long expected = eventPublisher.currentSequence() + 1;
+                if (event.getSequence() != expected) {
+                    throw new IllegalStateException("Expected ledger event " + expected
+                            + " but received " + event.getSequence());
+                }
+                if (event.getType() == LedgerEvent.Type.ACCOUNT_UPDATED) {
+                    accountRepository.save(new Account(event.getAccountId(), event.getHolderName(),
+                            event.getAccountClass(), event.getBalance(), event.getAccountCreatedAt()));
+                } else {
+                    transactionRepository.save(event.getTransaction());
+                }
+                eventPublisher.publishReplicated(event);
+            }
+            return null;
+        });
+        onPrimarySequence(events.get(events.size() - 1).getSequence());
+    }
+
+    private void onPrimarySequence(long sequence) {
+        primarySequence = Math.max(primarySequence, sequence);
+        if (getAppliedSequence() >= primarySequence) {
+            caughtUpAt = Instant.now();
+        }
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(properties.getReconnectBackoff().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.bank.manager.replication;
+
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary wire format between primary and replicas.
+ * <p>
+ * The replica opens the connection with a hello carrying the primary epoch and the last
+ * sequence it applied (-1 if it has no state). Sequence numbers restart with every
+ * primary run, so the primary only resumes a replica of its own epoch; anyone else gets
+ * a snapshot first. Then it streams event batches, and heartbeats while the ledger is idle.
+ */
+final class ReplicationProtocol {
+
+    static final int MAGIC = 0x42414E4B; // "BANK"
+    static final int VERSION = 1;
+
+    static final byte SNAPSHOT = 1;
+    static final byte EVENTS = 2;
+    static final byte HEARTBEAT = 3;
+
+    private static final byte ACCOUNT_UPDATED = 1;
+    private static final byte TRANSACTION_RECORDED = 2;
+
+    private ReplicationProtocol() {
+    }
+
+    /**
+     * Where a replica wants to resume: the primary epoch it followed and its last applied sequence.
+     */
+    record Hello(long epoch, long lastAppliedSequence) {
+    }
+
+    static void writeHello(DataOutputStream out, Hello hello) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(hello.epoch());
+        out.writeLong(hello.lastAppliedSequence());
+        out.flush();
+    }
+
+    static Hello readHello(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a replication client");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replication protocol version " + version);
+        }
+        return new Hello(in.readLong(), in.readLong());
+    }
+
+    static void writeSnapshot(DataOutputStream out, ReplicationSnapshot snapshot) throws IOException {
+        out.writeByte(SNAPSHOT);
+        out.writeLong(snapshot.epoch());
+        out.writeLong(snapshot.sequence());
+        out.writeInt(snapshot.accounts().size());
+        for (Account account : snapshot.accounts()) {
+            writeAccount(out, account);
+        }
+        out.writeInt(snapshot.transactions().size());
+        for (Transaction transaction : snapshot.transactions()) {
+            writeTransaction(out, transaction);
+        }
+    }
+
+    /**
+     * Reads a snapshot body; the message type has already been consumed.
+     */
+    static ReplicationSnapshot readSnapshot(DataInputStream in) throws IOException {
+        long epoch = in.readLong();
+        long sequence = in.readLong();
+        int accountCount = in.readInt();
+        List<Account> accounts = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(readAccount(in));
+        }
+        int transactionCount = in.readInt();
+        List<Transaction> transactions = new ArrayList<>(transactionCount);
+        for (int i = 0; i < transactionCount; i++) {
+            transactions.add(readTransaction(in));
+        }
+        return new ReplicationSnapshot(epoch, sequence, accounts, transactions);
+    }
+
+    static void writeEvents(DataOutputStream out, List<LedgerEvent> events) throws IOException {
+        out.writeByte(EVENTS);
+        out.writeInt(events.size());
+        for (LedgerEvent event : events) {
+            out.writeLong(event.getSequence());
+            out.writeLong(event.getPublishedAt().toEpochMilli());
+            if (event.getType() == LedgerEvent.Type.ACCOUNT_UPDATED) {
+                out.writeByte(ACCOUNT_UPDATED);
+                writeAccount(out, new Account(event.getAccountId(), event.getHolderName(), event.getAccountClass(),
+                        event.getBalance(), event.getAccountCreatedAt()));
+            } else {
+                out.writeByte(TRANSACTION_RECORDED);
+                writeTransaction(out, event.getTransaction());
+            }
+        }
+    }
+
+    /**
+     * Reads an event batch; the message type has already been consumed.
+     */
+    static List<LedgerEvent> readEvents(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<LedgerEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long sequence = in.readLong();
+            Instant publishedAt = Instant.ofEpochMilli(in.readLong());
+            byte type = in.readByte();
+            switch (type) {
+                case ACCOUNT_UPDATED -> events.add(LedgerEvent.accountUpdated(sequence, readAccount(in), publishedAt));
+                case TRANSACTION_RECORDED ->
+                        events.add(LedgerEvent.transactionRecorded(sequence, readTransaction(in), publishedAt));
+                default -> throw new IOException("Unknown ledger event type " + type);
+            }
+        }
+        return events;
+    }
+
+    static void writeHeartbeat(DataOutputStream out, long primarySequence) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(primarySequence);
+    }
+
+    // all private methods below
+    private static void writeAccount(DataOutputStream out, Account account) throws IOException {
+        out.writeLong(account.getAccountId());
+        out.writeUTF(account.getHolderName());
+        out.writeUTF(account.getAccountClass().name());
+        writeDecimal(out, account.getBalance());
+        writeDateTime(out, account.getCreatedAt());
+    }
+
+    private static Account readAccount(DataInputStream in) throws IOException {
+        return new Account(in.readLong(),
+                in.readUTF(),
+                AccountClass.valueOf(in.readUTF()),
+                readDecimal(in),
+                readDateTime(in));
+    }
+
+    private static void writeTransaction(DataOutputStream out, Transaction tx) throws IOException {
+        out.writeLong(tx.getTransactionId());
+        out.writeLong(tx.getAccountId());
+        out.writeUTF(tx.getType().name());
+        writeDecimal(out, tx.getAmount());
+        writeDecimal(out, tx.getBalanceAfter());
+        writeDateTime(out, tx.getCreatedAt());
+        out.writeLong(tx.getRelatedAccountId() == null ? -1 : tx.getRelatedAccountId());
+        out.writeBoolean(tx.getDescription() != null);
+        if (tx.getDescription() != null) {
+            out.writeUTF(tx.getDescription());
+        }
+    }
+
+    private static Transaction readTransaction(DataInputStream in) throws IOException {
+        long transactionId = in.readLong();
+        long accountId = in.readLong();
+        TransactionType type = TransactionType.valueOf(in.readUTF());
+        BigDecimal amount = readDecimal(in);
+        BigDecimal balanceAfter = readDecimal(in);
+        LocalDateTime createdAt = readDateTime(in);
+        long relatedAccountId = in.readLong();
+        String description = in.readBoolean() ? in.readUTF() : null;
+        return new Transaction(transactionId, accountId, type, amount, balanceAfter, createdAt,
+                relatedAccountId < 0 ? null : relatedAccountId, description);
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toLocalDate().toEpochDay());
+        out.writeLong(value.toLocalTime().toNanoOfDay());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+    }
+
+}
@@ -0,0 +1,273 @@
+package com.bank.manager.replication;
+
+import com.bank.manager.config.ReplicationProperties;
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.event.LedgerEventListener;
+import com.bank.manager.event.LedgerEventLog;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.repository.AccountRepository;
+import com.bank.manager.repository.LedgerLockManager;
+import com.bank.manager.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Primary side of replication: accepts replica connections and streams the ledger event
+ * log to each of them on its own thread.
+ * <p>
+ * A replica that resumes within the retained event log just receives the missing events.
+ * Otherwise it first gets a snapshot that matches the event sequence exactly: only the
+ * sequence, the last transaction id and the account balances are captured under the
+ * ledger lock, and the (immutable) transaction history up to that id is read afterwards.
+ * A replica that falls further behind than the event log reaches is disconnected and
+ * re-bootstraps from a fresh snapshot when it reconnects.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bank.replication", name = "role", havingValue = "primary")
+public class ReplicationServer implements LedgerEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationServer.class);
+
+    private final ReplicationProperties properties;
+    private final LedgerEventLog eventLog;
+    private final LedgerLockManager lockManager;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final Set<ReplicaSession> sessions = ConcurrentHashMap.newKeySet();
+    // identifies this run of the primary, whose sequence numbers start over from zero
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private volatile boolean running;
+    private ServerSocket serverSocket;
+
+    public ReplicationServer(ReplicationProperties properties,
+                             LedgerEventLog eventLog,
+                             LedgerLockManager lockManager,
+                             AccountRepository accountRepository,
+                             TransactionRepository transactionRepository) {
+        this.properties = properties;
+        this.eventLog = eventLog;
+        this.lockManager = lockManager;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(properties.getPort(), 50, InetAddress.getByName(properties.getBindAddress()));
+        running = true;
+        Thread acceptor = new Thread(this::acceptLoop, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Replication primary listening on {}:{}", properties.getBindAddress(), serverSocket.getLocalPort());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (ReplicaSession session : sessions) {
+            session.close();
+        }
+    }
+
+    @Override
+    public void onLedgerEvent(LedgerEvent event) {
+        // wake the senders; never block the writer
+        for (ReplicaSession session : sessions) {
+            LockSupport.unpark(session.thread);
+        }
+    }
+
+    /**
+     * Identifies this run of the primary; ledger sequence numbers only compare within one.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Currently connected replicas.
+     */
+    public List<ReplicaInfo> getReplicas() {
+        return sessions.stream()
+                .map(session -> new ReplicaInfo(session.address, session.sentSequence, session.connectedAt))
+                .sorted(Comparator.comparing(ReplicaInfo::connectedAt))
+                .toList();
+    }
+
+    /**
+     * A connected replica and the last sequence sent to it.
+     */
+    public record ReplicaInfo(String address, long sentSequence, Instant connectedAt) {
+    }
+
+    // all private methods below
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                ReplicaSession session = new ReplicaSession(socket);
+                sessions.add(session);
+                session.thread.start();
+            } catch (IOException ex) {
+                if (running) {
+                    log.warn("Failed to accept replica connection", ex);
+                }
+            }
+        }
+    }
+
+    private SnapshotWatermark captureWatermark() {
+        return lockManager.withLedgerLocked(() -> {
+            List<Account> accounts = new ArrayList<>();
+            for (Account account : accountRepository.findAll()) {
+                // copy: in-memory accounts keep changing once the lock is released
+                accounts.add(new Account(account.getAccountId(), account.getHolderName(), account.getAccountClass(),
+                        account.getBalance(), account.getCreatedAt()));
+            }
+            return new SnapshotWatermark(eventLog.getLastSequence(), transactionRepository.lastTransactionId(),
+                    accounts);
+        });
+    }
+
+    /**
+     * The state at one event sequence: balances as of then, and the id of the last
+     * transaction recorded by then.
+     */
+    private record SnapshotWatermark(long sequence, long lastTransactionId, List<Account> accounts) {
+    }
+
+    private final class ReplicaSession {
+
+        private final Socket socket;
+        private final String address;
+        private final Thread thread;
+        private final Instant connectedAt = Instant.now();
+        private volatile long sentSequence = -1;
+
+        private ReplicaSession(Socket socket) {
+            this.socket = socket;
+            this.address = socket.getRemoteSocketAddress().toString();
+            this.thread = new Thread(this::run, "replication-sender-" + socket.getPort());
+            this.thread.setDaemon(true);
+        }
+
+        private void run() {
+            try (socket) {
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                stream(out, ReplicationProtocol.readHello(in));
+            } catch (SocketException ex) {
+                log.info("Replica {} disconnected: {}", address, ex.getMessage());
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Replication to {} failed", address, ex);
+            } finally {
+                sessions.remove(this);
+            }
+        }
+
+        private void stream(DataOutputStream out, ReplicationProtocol.Hello hello) throws IOException {
+            long requested = hello.lastAppliedSequence();
+            if (hello.epoch() == epoch && requested >= 0 && requested <= eventLog.getLastSequence()
+                    && eventLog.eventsAfter(requested).isPresent()) {
+                sentSequence = requested;
+                log.info("Replica {} resumes after sequence {}", address, requested);
+            } else {
+                ReplicationSnapshot snapshot = readSnapshot(out, captureWatermark());
+                ReplicationProtocol.writeSnapshot(out, snapshot);
+                out.flush();
+                sentSequence = snapshot.sequence();
+                log.info("Sent snapshot at sequence {} to replica {} ({} accounts, {} transactions)",
+                        snapshot.sequence(), address, snapshot.accounts().size(), snapshot.transactions().size());
+            }
+
+            long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+            long lastWrite = System.nanoTime();
+            while (running) {
+                Optional<List<LedgerEvent>> pending = eventLog.eventsAfter(sentSequence);
+                if (pending.isEmpty()) {
+                    log.warn("Replica {} fell behind the event log at sequence {}, disconnecting",
+                            address, sentSequence);
+                    return;
+                }
+                List<LedgerEvent> events = pending.get();
+                if (!events.isEmpty()) {
+                    for (int from = 0; from < events.size(); from += properties.getMaxBatchSize()) {
+                        List<LedgerEvent> batch = events.subList(from,
+                                Math.min(events.size(), from + properties.getMaxBatchSize()));
+                        ReplicationProtocol.writeEvents(out, batch);
+                    }
+                    out.flush();
+                    sentSequence = events.get(events.size() - 1).getSequence();
+                    lastWrite = System.nanoTime();
+                } else if (System.nanoTime() - lastWrite >= heartbeatNanos) {
+                    ReplicationProtocol.writeHeartbeat(out, eventLog.getLastSequence());
+                    out.flush();
+                    lastWrite = System.nanoTime();
+                } else {
+                    // woken early by onLedgerEvent
+                    LockSupport.parkNanos(this, heartbeatNanos);
+                }
+            }
+        }
+
+        /**
+         * Reads the transaction history up to the watermark without holding the ledger lock,
+         * sending heartbeats meanwhile so the replica does not time out on a long history.
+         */
+        private ReplicationSnapshot readSnapshot(DataOutputStream out, SnapshotWatermark watermark)
+                throws IOException {
+            long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+            long lastWrite = System.nanoTime();
+            List<Transaction> transactions = new ArrayList<>();
+            for (Account account : watermark.accounts()) {
+                for (Transaction transaction : transactionRepository.findByAccountId(account.getAccountId())) {
+                    if (transaction.getTransactionId() <= watermark.lastTransactionId()) {
+                        transactions.add(transaction);
+                    }
+                }
+                if (System.nanoTime() - lastWrite >= heartbeatNanos) {
+                    ReplicationProtocol.writeHeartbeat(out, watermark.sequence());
+                    out.flush();
+                    lastWrite = System.nanoTime();
+                }
+            }
+            transactions.sort(Comparator.comparing(Transaction::getTransactionId));
+            return new ReplicationSnapshot(epoch, watermark.sequence(), watermark.accounts(), transactions);
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+
+}
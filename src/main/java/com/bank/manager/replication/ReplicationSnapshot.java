@@ -0,0 +1,13 @@
+package com.bank.manager.replication;
+
+import com.bank.manager.model.Account;
+import com.bank.manager.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Full ledger state at {@code sequence} of the primary run identified by {@code epoch}:
+ * detached account copies and every transaction in id order.
+ */
+record ReplicationSnapshot(long epoch, long sequence, List<Account> accounts, List<Transaction> transactions) {
+}
@@ -2,6 +2,7 @@ package com.bank.manager.repository;
 
 import com.bank.manager.model.Account;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +17,14 @@ public interface AccountRepository {
 
     List<Account> findAll();
 
+    /**
+     * Returns the accounts with the given ids that exist, in no particular order.
+     */
+    default List<Account> findAllById(Collection<Long> accountIds) {
+        return accountIds.stream()
+                .distinct()
+                .flatMap(accountId -> findById(accountId).stream())
+                .toList();
+    }
+
 }
\ No newline at end of file
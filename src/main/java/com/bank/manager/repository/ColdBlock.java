@@ -0,0 +1,81 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.model.Transaction;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sparse index entry pointing at one compressed run of an account's transactions inside a segment.
+ */
+final class ColdBlock {
+
+    private final TransactionSegment segment;
+    private final long offset;
+    private final int compressedLength;
+    private final int rawLength;
+    private final int count;
+    private final long firstTransactionId;
+    private final LocalDateTime minCreatedAt;
+    private final LocalDateTime maxCreatedAt;
+
+    ColdBlock(TransactionSegment segment,
+              long offset,
+              int compressedLength,
+              int rawLength,
+              int count,
+              long firstTransactionId,
+              LocalDateTime minCreatedAt,
+              LocalDateTime maxCreatedAt) {
+        this.segment = segment;
+        this.offset = offset;
+        this.compressedLength = compressedLength;
+        this.rawLength = rawLength;
+        this.count = count;
+        this.firstTransactionId = firstTransactionId;
+        this.minCreatedAt = minCreatedAt;
+        this.maxCreatedAt = maxCreatedAt;
+    }
+
+    List<Transaction> read(Long accountId) {
+        return segment.read(accountId, offset, compressedLength, rawLength, count);
+    }
+
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return !maxCreatedAt.isBefore(from) && !minCreatedAt.isAfter(to);
+    }
+
+    ByteBuffer readCompressed() {
+        return segment.readCompressed(offset, compressedLength);
+    }
+
+    TransactionSegment getSegment() {
+        return segment;
+    }
+
+    int getCompressedLength() {
+        return compressedLength;
+    }
+
+    int getRawLength() {
+        return rawLength;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getFirstTransactionId() {
+        return firstTransactionId;
+    }
+
+    LocalDateTime getMinCreatedAt() {
+        return minCreatedAt;
+    }
+
+    LocalDateTime getMaxCreatedAt() {
+        return maxCreatedAt;
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.bank.manager.repository;
 
 import com.bank.manager.model.Account;
+import com.bank.manager.jfr.RepositoryOperationEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -11,6 +13,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * In-memory implementation of AccountRepository using a ConcurrentHashMap.
  */
 @Repository
+@ConditionalOnProperty(prefix = "bank.storage", name = "backend", havingValue = "memory", matchIfMissing = true)
 public class InMemoryAccountRepository implements AccountRepository {
 
     private final Map<Long, Account> storage = new ConcurrentHashMap<>();
@@ -18,13 +21,25 @@ public class InMemoryAccountRepository implements AccountRepository {
 
     @Override
     public Account save(Account account) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("accounts", "save", account.getAccountId());
         if (account.getAccountId() == null) {
             account.setAccountId(idGenerator.getAndIncrement());
+        } else {
+            // ids assigned elsewhere (replication) must not be handed out again
+            idGenerator.accumulateAndGet(account.getAccountId() + 1, Math::max);
         }
         storage.put(account.getAccountId(), account);
+        event.finish(1);
         return account;
     }
 
+    /**
+     * Removes all accounts, e.g. before loading a replication snapshot.
+     */
+    public void clear() {
+        storage.clear();
+    }
+
     @Override
     public Optional<Account> findById(Long accountId) {
         return Optional.ofNullable(storage.get(accountId));
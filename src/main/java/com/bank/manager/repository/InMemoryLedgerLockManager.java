@@ -0,0 +1,51 @@
+package com.bank.manager.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Single ledger-wide lock for the in-memory backend, whose accounts are mutated in place.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bank.storage", name = "backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLedgerLockManager implements LedgerLockManager {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public <T> T withAccountsLocked(Collection<Long> accountIds, Supplier<T> action) {
+        return withLedgerLocked(action);
+    }
+
+    @Override
+    public <T> T withLedgerLocked(Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public <T> T withBatch(Supplier<T> action) {
+        // the lock is reentrant, so the whole batch pays for one acquisition
+        return withLedgerLocked(action);
+    }
+
+    @Override
+    public void afterCommit(Runnable action) {
+        // writes are applied in place under the ledger lock, so they are "committed" already
+        action.run();
+    }
+
+    @Override
+    public void afterRollback(Runnable action) {
+        // nothing is rolled back: a failed write keeps whatever it applied before failing
+    }
+
+}
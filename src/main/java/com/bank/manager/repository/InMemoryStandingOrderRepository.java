@@ -0,0 +1,38 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.model.StandingOrder;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory implementation of StandingOrderRepository using a ConcurrentHashMap.
+ */
+@Repository
+public class InMemoryStandingOrderRepository implements StandingOrderRepository {
+
+    private final Map<Long, StandingOrder> storage = new ConcurrentHashMap<>();
+    private final AtomicLong idGenerator = new AtomicLong(1);
+
+    @Override
+    public StandingOrder save(StandingOrder standingOrder) {
+        if (standingOrder.getStandingOrderId() == null) {
+            standingOrder.setStandingOrderId(idGenerator.getAndIncrement());
+        }
+        storage.put(standingOrder.getStandingOrderId(), standingOrder);
+        return standingOrder;
+    }
+
+    @Override
+    public Optional<StandingOrder> findById(Long standingOrderId) {
+        return Optional.ofNullable(storage.get(standingOrderId));
+    }
+
+    @Override
+    public List<StandingOrder> findAll() {
+        return new ArrayList<>(storage.values());
+    }
+
+}
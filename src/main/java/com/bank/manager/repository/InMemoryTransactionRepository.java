@@ -1,38 +1,342 @@
 package com.bank.manager.repository;
 
 import com.bank.manager.model.Transaction;
+import com.bank.manager.jfr.RepositoryOperationEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of TransactionRepository.
+ * <p>
+ * Recent transactions are kept on the heap ("hot"). Older ones can be demoted into
+ * compressed on-disk segments ("cold") by {@link #demoteColdTransactions}; reads
+ * merge both tiers transparently.
  */
 @Repository
+@ConditionalOnProperty(prefix = "bank.storage", name = "backend", havingValue = "memory", matchIfMissing = true)
 public class InMemoryTransactionRepository implements TransactionRepository {
 
-    private final Map<Long, List<Transaction>> storage = new ConcurrentHashMap<>();
+    private final Map<Long, AccountHistory> storage = new ConcurrentHashMap<>();
     private final AtomicLong idGenerator = new AtomicLong(1);
+    private final AtomicLong hotCount = new AtomicLong();
+    private final Object demotionLock = new Object();
+    private final TransactionSegmentStore segmentStore;
+
+    public InMemoryTransactionRepository(TransactionSegmentStore segmentStore) {
+        this.segmentStore = segmentStore;
+    }
 
     @Override
     public synchronized Transaction save(Transaction transaction) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "save",
+                transaction.getAccountId());
         if (transaction.getTransactionId() == null) {
             transaction.setTransactionId(idGenerator.getAndIncrement());
+        } else {
+            // ids assigned elsewhere (replication) must not be handed out again
+            idGenerator.accumulateAndGet(transaction.getTransactionId() + 1, Math::max);
         }
-        storage.computeIfAbsent(transaction.getAccountId(), k -> new ArrayList<>())
-                .add(transaction);
+        AccountHistory history = storage.computeIfAbsent(transaction.getAccountId(), k -> new AccountHistory());
+        synchronized (history) {
+            history.hot.add(transaction);
+        }
+        hotCount.incrementAndGet();
+        event.finish(1);
         return transaction;
     }
 
     @Override
     public List<Transaction> findByAccountId(Long accountId) {
-        return storage.getOrDefault(accountId, Collections.emptyList())
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findByAccountId", accountId);
+        List<Transaction> result = readHistory(accountId, LocalDateTime.MIN, LocalDateTime.MAX)
                 .stream()
                 .sorted(Comparator.comparing(Transaction::getCreatedAt).reversed()) // latest first
                 .collect(Collectors.toList());
+        event.finish(result.size());
+        return result;
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findByAccountIdBetween",
+                accountId);
+        List<Transaction> result = readHistory(accountId, from, to)
+                .stream()
+                .filter(tx -> !tx.getCreatedAt().isBefore(from) && !tx.getCreatedAt().isAfter(to))
+                .sorted(Comparator.comparing(Transaction::getCreatedAt).reversed()) // latest first
+                .collect(Collectors.toList());
+        event.finish(result.size());
+        return result;
+    }
+
+    @Override
+    public Optional<Transaction> findLatestAtOrBefore(Long accountId, LocalDateTime asOf) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findLatestAtOrBefore",
+                accountId);
+        Optional<Transaction> result = latestAtOrBefore(accountId, asOf);
+        event.finish(result.isPresent() ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public List<Transaction> findPageByAccountId(Long accountId, Long beforeTransactionId, int limit) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findPageByAccountId",
+                accountId);
+        List<Transaction> result = readPage(accountId, beforeTransactionId, limit);
+        event.finish(result.size());
+        return result;
+    }
+
+    @Override
+    public synchronized long lastTransactionId() {
+        return idGenerator.get() - 1;
+    }
+
+    /**
+     * Moves transactions created before {@code ageCutoff}, plus the oldest ones beyond
+     * {@code maxHotTransactions}, into a new cold segment.
+     *
+     * @return the number of transactions that left the heap
+     */
+    public long demoteColdTransactions(LocalDateTime ageCutoff, long maxHotTransactions) throws IOException {
+        synchronized (demotionLock) {
+            return demote(ageCutoff, maxHotTransactions);
+        }
+    }
+
+    /**
+     * Removes all transactions, e.g. before loading a replication snapshot, and deletes
+     * the cold segments holding them.
+     */
+    public void clear() {
+        synchronized (demotionLock) {
+            synchronized (this) {
+                storage.clear();
+                hotCount.set(0);
+            }
+            try {
+                segmentStore.deleteSegments();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Number of transactions currently held on the heap.
+     */
+    public long getHotTransactionCount() {
+        return hotCount.get();
+    }
+
+    // all private methods below
+    private long demote(LocalDateTime ageCutoff, long maxHotTransactions) throws IOException {
+        long excess = hotCount.get() - maxHotTransactions;
+        long idCutoff = excess > 0 ? lastTransactionId() - maxHotTransactions : 0;
+
+        Map<Long, List<Transaction>> demotable = new HashMap<>();
+        Map<Long, Integer> demotedCounts = new HashMap<>();
+        Map<Long, ColdBlock> mergedBlocks = new HashMap<>();
+        storage.forEach((accountId, history) -> {
+            ColdBlock trailing = null;
+            List<Transaction> run = null;
+            synchronized (history) {
+                int prefix = 0;
+                for (Transaction tx : history.hot) {
+                    if (!tx.getCreatedAt().isBefore(ageCutoff) && tx.getTransactionId() > idCutoff) {
+                        break;
+                    }
+                    prefix++;
+                }
+                if (prefix > 0) {
+                    run = new ArrayList<>(history.hot.subList(0, prefix));
+                    if (!history.cold.isEmpty()) {
+                        trailing = history.cold.get(history.cold.size() - 1);
+                    }
+                }
+            }
+            if (run == null) {
+                return;
+            }
+            demotedCounts.put(accountId, run.size());
+            // rewrite a partial trailing block together with the new run, so each account
+            // ends up with full blocks plus at most one partial one however often this runs
+            if (trailing != null && trailing.getCount() < segmentStore.getBlockSize()) {
+                List<Transaction> merged = new ArrayList<>(trailing.read(accountId));
+                merged.addAll(run);
+                run = merged;
+                mergedBlocks.put(accountId, trailing);
+            }
+            demotable.put(accountId, run);
+        });
+        if (demotable.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<ColdBlock>> blocks = segmentStore.write(demotable);
+
+        long demoted = 0;
+        for (Map.Entry<Long, Integer> entry : demotedCounts.entrySet()) {
+            AccountHistory history = storage.get(entry.getKey());
+            int count = entry.getValue();
+            // index the cold copy and drop the hot one atomically, so readers never see gaps or duplicates
+            synchronized (history) {
+                if (mergedBlocks.containsKey(entry.getKey())) {
+                    history.cold.remove(history.cold.size() - 1);
+                }
+                history.cold.addAll(blocks.get(entry.getKey()));
+                history.hot.subList(0, count).clear();
+            }
+            demoted += count;
+        }
+        hotCount.addAndGet(-demoted);
+        segmentStore.release(mergedBlocks.values());
+
+        compactSegments();
+        return demoted;
+    }
+
+    /**
+     * Copies the live blocks of mostly dead or small segments into new ones, so replaced
+     * blocks do not pin old segment files and the file count follows the data, not the uptime.
+     */
+    private void compactSegments() throws IOException {
+        Set<TransactionSegment> compactable = segmentStore.findSegmentsToCompact();
+        if (compactable.isEmpty()) {
+            return;
+        }
+        List<ColdBlock> live = new ArrayList<>();
+        storage.forEach((accountId, history) -> {
+            synchronized (history) {
+                for (ColdBlock block : history.cold) {
+                    if (compactable.contains(block.getSegment())) {
+                        live.add(block);
+                    }
+                }
+            }
+        });
+
+        Map<ColdBlock, ColdBlock> relocated = segmentStore.relocate(live);
+        storage.forEach((accountId, history) -> {
+            synchronized (history) {
+                history.cold.replaceAll(block -> relocated.getOrDefault(block, block));
+            }
+        });
+        segmentStore.release(live);
+    }
+
+    private List<Transaction> readHistory(Long accountId, LocalDateTime from, LocalDateTime to) {
+        AccountHistory history = storage.get(accountId);
+        if (history == null) {
+            return Collections.emptyList();
+        }
+        List<ColdBlock> cold;
+        List<Transaction> result;
+        synchronized (history) {
+            cold = new ArrayList<>(history.cold);
+            result = new ArrayList<>(history.hot);
+        }
+        for (ColdBlock block : cold) {
+            if (block.overlaps(from, to)) {
+                result.addAll(block.read(accountId));
+            }
+        }
+        return result;
+    }
+
+    private List<Transaction> readPage(Long accountId, Long beforeTransactionId, int limit) {
+        AccountHistory history = storage.get(accountId);
+        if (history == null) {
+            return Collections.emptyList();
+        }
+        long before = beforeTransactionId == null ? Long.MAX_VALUE : beforeTransactionId;
+        List<ColdBlock> cold;
+        List<Transaction> page = new ArrayList<>(limit);
+        synchronized (history) {
+            cold = new ArrayList<>(history.cold);
+            for (int i = history.hot.size() - 1; i >= 0 && page.size() < limit; i--) {
+                Transaction tx = history.hot.get(i);
+                if (tx.getTransactionId() < before) {
+                    page.add(tx);
+                }
+            }
+        }
+        // cold blocks are in id order, so walk them backwards and stop once the page is full
+        for (int i = cold.size() - 1; i >= 0 && page.size() < limit; i--) {
+            ColdBlock block = cold.get(i);
+            if (block.getFirstTransactionId() >= before) {
+                continue;
+            }
+            List<Transaction> blockTransactions = block.read(accountId);
+            for (int j = blockTransactions.size() - 1; j >= 0 && page.size() < limit; j--) {
+                Transaction tx = blockTransactions.get(j);
+                if (tx.getTransactionId() < before) {
+                    page.add(tx);
+                }
+            }
+        }
+        return page;
+    }
+
+    private Optional<Transaction> latestAtOrBefore(Long accountId, LocalDateTime asOf) {
+        AccountHistory history = storage.get(accountId);
+        if (history == null) {
+            return Optional.empty();
+        }
+        ColdBlock block;
+        // histories are in id order; writers hand out timestamps that keep them in time order too
+        synchronized (history) {
+            int hotIndex = lastAtOrBefore(history.hot, Transaction::getCreatedAt, asOf);
+            if (hotIndex >= 0) {
+                return Optional.of(history.hot.get(hotIndex));
+            }
+            // the answer is in the last cold block that starts at or before asOf, if any
+            int blockIndex = lastAtOrBefore(history.cold, ColdBlock::getMinCreatedAt, asOf);
+            if (blockIndex < 0) {
+                return Optional.empty();
+            }
+            block = history.cold.get(blockIndex);
+        }
+        List<Transaction> blockTransactions = block.read(accountId);
+        int index = lastAtOrBefore(blockTransactions, Transaction::getCreatedAt, asOf);
+        return index < 0 ? Optional.empty() : Optional.of(blockTransactions.get(index));
+    }
+
+    /**
+     * Binary search over a list ordered by time: index of the last element at or before
+     * {@code asOf}, or -1 if all elements are later.
+     */
+    private static <T> int lastAtOrBefore(List<T> ordered, Function<T, LocalDateTime> time, LocalDateTime asOf) {
+        int low = 0;
+        int high = ordered.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (time.apply(ordered.get(mid)).isAfter(asOf)) {
+                high = mid - 1;
+            } else {
+                found = mid;
+                low = mid + 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Transactions of one account: the cold block index plus the hot tail, both in id order.
+     */
+    private static final class AccountHistory {
+        private final List<ColdBlock> cold = new ArrayList<>();
+        private final List<Transaction> hot = new ArrayList<>();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.jfr.RepositoryOperationEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDBC implementation of AccountRepository for an embedded H2 database.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "bank.storage", name = "backend", havingValue = "jdbc")
+public class JdbcAccountRepository implements AccountRepository {
+
+    private static final RowMapper<Account> ACCOUNT_MAPPER = (rs, rowNum) -> new Account(
+            rs.getLong("account_id"),
+            rs.getString("holder_name"),
+            AccountClass.valueOf(rs.getString("account_class")),
+            normalize(rs.getBigDecimal("balance")),
+            rs.getTimestamp("created_at").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong idGenerator;
+
+    public JdbcAccountRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(account_id) FROM accounts", Long.class);
+        this.idGenerator = new AtomicLong(maxId == null ? 1 : maxId + 1);
+    }
+
+    @Override
+    public Account save(Account account) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("accounts", "save", account.getAccountId());
+        if (account.getAccountId() == null) {
+            account.setAccountId(idGenerator.getAndIncrement());
+        }
+        jdbcTemplate.update("MERGE INTO accounts (account_id, holder_name, account_class, balance, created_at) "
+                        + "KEY (account_id) VALUES (?, ?, ?, ?, ?)",
+                account.getAccountId(),
+                account.getHolderName(),
+                account.getAccountClass().name(),
+                account.getBalance(),
+                Timestamp.valueOf(account.getCreatedAt()));
+        event.finish(1);
+        return account;
+    }
+
+    @Override
+    public Optional<Account> findById(Long accountId) {
+        List<Account> accounts = jdbcTemplate.query(
+                "SELECT account_id, holder_name, account_class, balance, created_at FROM accounts WHERE account_id = ?",
+                ACCOUNT_MAPPER, accountId);
+        return accounts.stream().findFirst();
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return jdbcTemplate.query("SELECT account_id, holder_name, account_class, balance, created_at FROM accounts",
+                ACCOUNT_MAPPER);
+    }
+
+    @Override
+    public List<Account> findAllById(Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(accountIds.size(), "?"));
+        return jdbcTemplate.query("SELECT account_id, holder_name, account_class, balance, created_at FROM accounts "
+                + "WHERE account_id IN (" + placeholders + ")", ACCOUNT_MAPPER, accountIds.toArray());
+    }
+
+    /**
+     * Locks the given account rows until the surrounding database transaction ends.
+     * Callers pass the ids sorted so that concurrent writers always lock in the same order.
+     */
+    public void lockForUpdate(List<Long> sortedAccountIds) {
+        if (sortedAccountIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(sortedAccountIds.size(), "?"));
+        jdbcTemplate.queryForList("SELECT account_id FROM accounts WHERE account_id IN (" + placeholders + ") "
+                + "ORDER BY account_id FOR UPDATE", Long.class, sortedAccountIds.toArray());
+    }
+
+    /**
+     * DECIMAL columns pad every value to the column scale; give amounts back their natural scale.
+     */
+    static BigDecimal normalize(BigDecimal value) {
+        BigDecimal stripped = value.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+}
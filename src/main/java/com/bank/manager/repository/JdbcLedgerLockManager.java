@@ -0,0 +1,132 @@
+package com.bank.manager.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Row-level locking for the JDBC backend.
+ * <p>
+ * Each write runs in its own database transaction and locks the affected account rows
+ * with {@code SELECT ... FOR UPDATE} in id order, so writes to different accounts
+ * proceed in parallel and lock ordering prevents deadlocks. Writers also share an
+ * in-process read lock that snapshot capture takes exclusively: with a single
+ * embedded database per process this is enough to make "every transaction id up
+ * to N is committed" hold at snapshot time.
+ * <p>
+ * {@link #afterCommit} actions run after the database commit, so listeners never see a
+ * write that was rolled back. A commit lock, taken just before commit and released after
+ * those actions, keeps them in commit order: a second write to the same account cannot
+ * publish before the first, and neither can a write to an account created moments ago.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bank.storage", name = "backend", havingValue = "jdbc")
+public class JdbcLedgerLockManager implements LedgerLockManager {
+
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcAccountRepository accountRepository;
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final ReentrantLock commitLock = new ReentrantLock();
+
+    public JdbcLedgerLockManager(TransactionTemplate transactionTemplate, JdbcAccountRepository accountRepository) {
+        this.transactionTemplate = transactionTemplate;
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    public <T> T withAccountsLocked(Collection<Long> accountIds, Supplier<T> action) {
+        List<Long> lockOrder = accountIds.stream().sorted().distinct().toList();
+        snapshotLock.readLock().lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                CommitActions commitActions = new CommitActions();
+                TransactionSynchronizationManager.bindResource(this, commitActions);
+                TransactionSynchronizationManager.registerSynchronization(commitActions);
+                accountRepository.lockForUpdate(lockOrder);
+                return action.get();
+            });
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> T withLedgerLocked(Supplier<T> action) {
+        snapshotLock.writeLock().lock();
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> T withBatch(Supplier<T> action) {
+        // every transfer in the batch commits on its own, so one failure cannot roll back the others
+        return action.get();
+    }
+
+    @Override
+    public void afterCommit(Runnable action) {
+        CommitActions commitActions = (CommitActions) TransactionSynchronizationManager.getResource(this);
+        if (commitActions == null) {
+            action.run();
+            return;
+        }
+        commitActions.actions.add(action);
+    }
+
+    @Override
+    public void afterRollback(Runnable action) {
+        CommitActions commitActions = (CommitActions) TransactionSynchronizationManager.getResource(this);
+        if (commitActions != null) {
+            commitActions.rollbackActions.add(action);
+        }
+    }
+
+    /**
+     * Collects the after-commit actions of one write and runs them under the commit lock,
+     * or its rollback actions if it does not commit.
+     */
+    private final class CommitActions implements TransactionSynchronization {
+
+        private final List<Runnable> actions = new ArrayList<>();
+        private final List<Runnable> rollbackActions = new ArrayList<>(0);
+        private boolean holdsCommitLock;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitLock.lock();
+            holdsCommitLock = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            actions.forEach(Runnable::run);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(JdbcLedgerLockManager.this);
+            if (holdsCommitLock) {
+                holdsCommitLock = false;
+                commitLock.unlock();
+            }
+            // an unknown outcome may have committed, so only a certain rollback is undone
+            if (status == STATUS_ROLLED_BACK) {
+                rollbackActions.forEach(Runnable::run);
+            }
+        }
+    }
+
+}
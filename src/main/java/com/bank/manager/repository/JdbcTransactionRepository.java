@@ -0,0 +1,175 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+import com.bank.manager.jfr.RepositoryOperationEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDBC implementation of TransactionRepository for an embedded H2 database.
+ * <p>
+ * Ids are assigned in-process (seeded from the table on startup), so a whole batch
+ * can be inserted with one prepared-statement batch.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "bank.storage", name = "backend", havingValue = "jdbc")
+public class JdbcTransactionRepository implements TransactionRepository {
+
+    private static final String COLUMNS = "transaction_id, account_id, type, amount, balance_after, created_at, "
+            + "related_account_id, description";
+
+    private static final RowMapper<Transaction> TRANSACTION_MAPPER = (rs, rowNum) -> new Transaction(
+            rs.getLong("transaction_id"),
+            rs.getLong("account_id"),
+            TransactionType.valueOf(rs.getString("type")),
+            JdbcAccountRepository.normalize(rs.getBigDecimal("amount")),
+            JdbcAccountRepository.normalize(rs.getBigDecimal("balance_after")),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getObject("related_account_id", Long.class),
+            rs.getString("description")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong idGenerator;
+
+    public JdbcTransactionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(transaction_id) FROM transactions", Long.class);
+        this.idGenerator = new AtomicLong(maxId == null ? 1 : maxId + 1);
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        return saveAll(List.of(transaction)).get(0);
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "save",
+                transactions.isEmpty() ? null : transactions.get(0).getAccountId());
+        for (Transaction transaction : transactions) {
+            if (transaction.getTransactionId() == null) {
+                transaction.setTransactionId(idGenerator.getAndIncrement());
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                transactions, transactions.size(), (ps, tx) -> {
+                    ps.setLong(1, tx.getTransactionId());
+                    ps.setLong(2, tx.getAccountId());
+                    ps.setString(3, tx.getType().name());
+                    ps.setBigDecimal(4, tx.getAmount());
+                    ps.setBigDecimal(5, tx.getBalanceAfter());
+                    ps.setTimestamp(6, Timestamp.valueOf(tx.getCreatedAt()));
+                    if (tx.getRelatedAccountId() == null) {
+                        ps.setNull(7, Types.BIGINT);
+                    } else {
+                        ps.setLong(7, tx.getRelatedAccountId());
+                    }
+                    ps.setString(8, tx.getDescription());
+                });
+        event.finish(transactions.size());
+        return transactions;
+    }
+
+    @Override
+    public List<Transaction> findByAccountId(Long accountId) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findByAccountId", accountId);
+        List<Transaction> result = jdbcTemplate.query("SELECT " + COLUMNS + " FROM transactions WHERE account_id = ? "
+                + "ORDER BY created_at DESC, transaction_id DESC", TRANSACTION_MAPPER, accountId);
+        event.finish(result.size());
+        return result;
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findByAccountIdBetween",
+                accountId);
+        // LocalDateTime.MIN/MAX mark an open bound and do not fit in a SQL timestamp, so leave them out
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM transactions WHERE account_id = ?");
+        List<Object> args = new ArrayList<>(3);
+        args.add(accountId);
+        if (!from.equals(LocalDateTime.MIN)) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (!to.equals(LocalDateTime.MAX)) {
+            sql.append(" AND created_at <= ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY created_at DESC, transaction_id DESC");
+        List<Transaction> result = jdbcTemplate.query(sql.toString(), TRANSACTION_MAPPER, args.toArray());
+        event.finish(result.size());
+        return result;
+    }
+
+    @Override
+    public Optional<Transaction> findLatestAtOrBefore(Long accountId, LocalDateTime asOf) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findLatestAtOrBefore",
+                accountId);
+        // served by a backward seek on the (account_id, created_at) index
+        List<Transaction> result = jdbcTemplate.query("SELECT " + COLUMNS + " FROM transactions "
+                        + "WHERE account_id = ? AND created_at <= ? "
+                        + "ORDER BY created_at DESC, transaction_id DESC LIMIT 1",
+                TRANSACTION_MAPPER, accountId, Timestamp.valueOf(asOf));
+        event.finish(result.size());
+        return result.stream().findFirst();
+    }
+
+    @Override
+    public Map<Long, Transaction> findLatestAtOrBefore(Collection<Long> accountIds, LocalDateTime asOf) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findLatestAtOrBefore",
+                null);
+        Map<Long, Transaction> result = new HashMap<>();
+        if (!accountIds.isEmpty()) {
+            // one query, still one backward index seek per account as in the single-account lookup
+            String ids = String.join(", ", Collections.nCopies(accountIds.size(), "(CAST(? AS BIGINT))"));
+            List<Object> args = new ArrayList<>(accountIds.size() + 1);
+            args.add(Timestamp.valueOf(asOf));
+            args.addAll(accountIds);
+            jdbcTemplate.query("SELECT " + COLUMNS + " FROM transactions WHERE transaction_id IN ("
+                            + "SELECT (SELECT latest.transaction_id FROM transactions latest "
+                            + "WHERE latest.account_id = ids.id AND latest.created_at <= ? "
+                            + "ORDER BY latest.created_at DESC, latest.transaction_id DESC LIMIT 1) "
+                            + "FROM (VALUES " + ids + ") ids(id))",
+                    TRANSACTION_MAPPER, args.toArray())
+                    .forEach(tx -> result.put(tx.getAccountId(), tx));
+        }
+        event.finish(result.size());
+        return result;
+    }
+
+    @Override
+    public List<Transaction> findPageByAccountId(Long accountId, Long beforeTransactionId, int limit) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("transactions", "findPageByAccountId",
+                accountId);
+        List<Transaction> result = beforeTransactionId == null
+                ? jdbcTemplate.query("SELECT " + COLUMNS + " FROM transactions WHERE account_id = ? "
+                        + "ORDER BY transaction_id DESC LIMIT ?", TRANSACTION_MAPPER, accountId, limit)
+                : jdbcTemplate.query("SELECT " + COLUMNS + " FROM transactions WHERE account_id = ? "
+                                + "AND transaction_id < ? ORDER BY transaction_id DESC LIMIT ?",
+                        TRANSACTION_MAPPER, accountId, beforeTransactionId, limit);
+        event.finish(result.size());
+        return result;
+    }
+
+    @Override
+    public long lastTransactionId() {
+        return idGenerator.get() - 1;
+    }
+
+}
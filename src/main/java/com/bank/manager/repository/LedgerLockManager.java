@@ -0,0 +1,42 @@
+package com.bank.manager.repository;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Serializes ledger writes. Each storage backend decides how coarse the locking is.
+ */
+public interface LedgerLockManager {
+
+    /**
+     * Runs a write that touches the given accounts, with exclusive access to them
+     * for its whole duration. Writes to other accounts may run concurrently.
+     */
+    <T> T withAccountsLocked(Collection<Long> accountIds, Supplier<T> action);
+
+    /**
+     * Runs an action while no ledger write is in progress, e.g. to capture a consistent snapshot.
+     */
+    <T> T withLedgerLocked(Supplier<T> action);
+
+    /**
+     * Runs a batch of writes that each lock their own accounts. Implementations may
+     * hold a coarser lock across the whole batch to amortise acquisition.
+     */
+    <T> T withBatch(Supplier<T> action);
+
+    /**
+     * Runs {@code action} once the current write is durable, on the calling thread and in
+     * commit order across writes. A write that fails to commit never runs it. Outside a
+     * write the action runs immediately.
+     */
+    void afterCommit(Runnable action);
+
+    /**
+     * Runs {@code action} if the current write is rolled back, to undo state kept outside
+     * the store. Backends that apply writes in place have nothing to roll back and never
+     * run it; neither does a call outside a write.
+     */
+    void afterRollback(Runnable action);
+
+}
@@ -0,0 +1,19 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.model.StandingOrder;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository abstraction for storing and retrieving standing orders.
+ */
+public interface StandingOrderRepository {
+
+    StandingOrder save(StandingOrder standingOrder);
+
+    Optional<StandingOrder> findById(Long standingOrderId);
+
+    List<StandingOrder> findAll();
+
+}
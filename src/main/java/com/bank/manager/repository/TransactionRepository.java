@@ -2,7 +2,12 @@ package com.bank.manager.repository;
 
 import com.bank.manager.model.Transaction;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Repository abstraction for storing and retrieving transactions.
@@ -11,6 +16,48 @@ public interface TransactionRepository {
 
     Transaction save(Transaction transaction);
 
+    /**
+     * Saves several transactions as one write; implementations may batch them.
+     */
+    default List<Transaction> saveAll(List<Transaction> transactions) {
+        transactions.forEach(this::save);
+        return transactions;
+    }
+
     List<Transaction> findByAccountId(Long accountId);
-    
+
+    /**
+     * Returns the transactions of an account created within [from, to], latest first.
+     */
+    List<Transaction> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Returns the latest transaction of an account created at or before {@code asOf},
+     * i.e. the one whose balanceAfter is the account balance at that instant.
+     */
+    Optional<Transaction> findLatestAtOrBefore(Long accountId, LocalDateTime asOf);
+
+    /**
+     * Returns {@link #findLatestAtOrBefore(Long, LocalDateTime)} for several accounts at once,
+     * keyed by account id; accounts without a transaction at that time are left out.
+     */
+    default Map<Long, Transaction> findLatestAtOrBefore(Collection<Long> accountIds, LocalDateTime asOf) {
+        Map<Long, Transaction> latest = new HashMap<>();
+        for (Long accountId : accountIds) {
+            findLatestAtOrBefore(accountId, asOf).ifPresent(tx -> latest.put(accountId, tx));
+        }
+        return latest;
+    }
+
+    /**
+     * Returns up to {@code limit} transactions of an account with an id below
+     * {@code beforeTransactionId} (or the latest ones when it is null), latest first by id.
+     */
+    List<Transaction> findPageByAccountId(Long accountId, Long beforeTransactionId, int limit);
+
+    /**
+     * Returns the highest transaction id assigned so far, or 0 if none was saved yet.
+     */
+    long lastTransactionId();
+
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable, memory-mapped file of deflate-compressed transaction blocks.
+ * <p>
+ * A segment has no index of its own: {@link ColdBlock}s held by the repository
+ * point directly at the blocks. Each block holds transactions of a single account
+ * in id order, so the account id itself is not stored per entry.
+ * <p>
+ * The segment tracks how many of its bytes are still referenced by blocks, so the
+ * store can delete it once empty and compact it once mostly dead.
+ */
+final class TransactionSegment {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final long NO_RELATED_ACCOUNT = Long.MIN_VALUE;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final AtomicLong liveBytes = new AtomicLong();
+
+    private TransactionSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    static TransactionSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new TransactionSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getSize() {
+        return buffer.capacity();
+    }
+
+    long getLiveBytes() {
+        return liveBytes.get();
+    }
+
+    void retain(int bytes) {
+        liveBytes.addAndGet(bytes);
+    }
+
+    /**
+     * @return the bytes still referenced after releasing {@code bytes}
+     */
+    long release(int bytes) {
+        return liveBytes.addAndGet(-bytes);
+    }
+
+    /**
+     * Compressed bytes of one block, for copying it into another segment unchanged.
+     */
+    ByteBuffer readCompressed(long offset, int compressedLength) {
+        return buffer.slice(Math.toIntExact(offset), compressedLength);
+    }
+
+    List<Transaction> read(Long accountId, long offset, int compressedLength, int rawLength, int count) {
+        // absolute slice: independent position, so concurrent readers never interfere
+        ByteBuffer compressed = readCompressed(offset, compressedLength);
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int inflated = 0;
+            while (inflated < rawLength && !inflater.finished()) {
+                inflated += inflater.inflate(raw, inflated, rawLength - inflated);
+            }
+        } catch (DataFormatException ex) {
+            throw new UncheckedIOException(new IOException("Corrupt block in segment " + path, ex));
+        } finally {
+            inflater.end();
+        }
+
+        List<Transaction> transactions = new ArrayList<>(count);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            for (int i = 0; i < count; i++) {
+                transactions.add(decode(in, accountId));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return transactions;
+    }
+
+    static void encode(DataOutput out, Transaction tx) throws IOException {
+        out.writeLong(tx.getTransactionId());
+        out.writeByte(tx.getType().ordinal());
+        writeDecimal(out, tx.getAmount());
+        writeDecimal(out, tx.getBalanceAfter());
+        out.writeLong(tx.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(tx.getCreatedAt().getNano());
+        out.writeLong(tx.getRelatedAccountId() == null ? NO_RELATED_ACCOUNT : tx.getRelatedAccountId());
+        out.writeBoolean(tx.getDescription() != null);
+        if (tx.getDescription() != null) {
+            out.writeUTF(tx.getDescription());
+        }
+    }
+
+    static Transaction decode(DataInput in, Long accountId) throws IOException {
+        long transactionId = in.readLong();
+        TransactionType type = TYPES[in.readByte()];
+        BigDecimal amount = readDecimal(in);
+        BigDecimal balanceAfter = readDecimal(in);
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        long related = in.readLong();
+        String description = in.readBoolean() ? in.readUTF() : null;
+        return new Transaction(transactionId, accountId, type, amount, balanceAfter, createdAt,
+                related == NO_RELATED_ACCOUNT ? null : related, description);
+    }
+
+    // all private methods below
+    private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInput in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+}
@@ -0,0 +1,303 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.config.TieringProperties;
+import com.bank.manager.model.Transaction;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+/**
+ * Writes cold transactions into immutable compressed segment files and keeps them mapped.
+ * <p>
+ * Segments only live as long as the process: transaction ids are not persisted.
+ * Each store writes into its own fresh subdirectory of the configured directory, so
+ * several instances on one host (a primary and its replica, say) never touch each
+ * other's files, and only removes what it created. Segments whose blocks have all been
+ * replaced are deleted right away; mostly dead ones are compacted by the repository
+ * through {@link #relocate}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bank.storage", name = "backend", havingValue = "memory", matchIfMissing = true)
+public class TransactionSegmentStore {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final double MIN_LIVE_RATIO = 0.5;
+    private static final long SMALL_SEGMENT_BYTES = 1024 * 1024;
+    // block offsets are mapped-buffer indexes, so a segment (which may overshoot by one block) must stay under 2 GB
+    private static final long MAX_SEGMENT_BYTES = 1024L * 1024 * 1024;
+
+    private final TieringProperties properties;
+    private final AtomicLong segmentIds = new AtomicLong();
+    private final List<TransactionSegment> segments = new CopyOnWriteArrayList<>();
+    private Path instanceDirectory;
+
+    public TransactionSegmentStore(TieringProperties properties) {
+        if (properties.getMaxSegmentBytes() <= 0 || properties.getMaxSegmentBytes() > MAX_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("bank.storage.tiering.max-segment-bytes must be between 1 and "
+                    + MAX_SEGMENT_BYTES);
+        }
+        this.properties = properties;
+    }
+
+    /**
+     * Writes the given per-account runs of transactions (each in id order) into one or more new segments.
+     *
+     * @return the block index entries for each account, in id order
+     */
+    public synchronized Map<Long, List<ColdBlock>> write(Map<Long, List<Transaction>> transactionsByAccount)
+            throws IOException {
+        prepareDirectory();
+        Map<Long, List<ColdBlock>> blocks = new HashMap<>();
+        SegmentWriter<Long> writer = null;
+        try {
+            for (Map.Entry<Long, List<Transaction>> entry : transactionsByAccount.entrySet()) {
+                List<Transaction> transactions = entry.getValue();
+                for (int from = 0; from < transactions.size(); from += properties.getBlockSize()) {
+                    writer = rollIfFull(writer, blocks);
+                    int to = Math.min(transactions.size(), from + properties.getBlockSize());
+                    writer.writeBlock(entry.getKey(), transactions.subList(from, to));
+                }
+            }
+            if (writer != null) {
+                writer.finish(blocks);
+                writer = null;
+            }
+        } finally {
+            if (writer != null) {
+                writer.abort();
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Copies the given blocks, still compressed, into new segments. The old blocks stay
+     * readable until they are {@link #release released}.
+     *
+     * @return the new block for each old one
+     */
+    public synchronized Map<ColdBlock, ColdBlock> relocate(Collection<ColdBlock> blocks) throws IOException {
+        prepareDirectory();
+        Map<ColdBlock, List<ColdBlock>> relocated = new IdentityHashMap<>();
+        SegmentWriter<ColdBlock> writer = null;
+        try {
+            for (ColdBlock block : blocks) {
+                writer = rollIfFull(writer, relocated);
+                writer.copyBlock(block, block);
+            }
+            if (writer != null) {
+                writer.finish(relocated);
+                writer = null;
+            }
+        } finally {
+            if (writer != null) {
+                writer.abort();
+            }
+        }
+        Map<ColdBlock, ColdBlock> result = new IdentityHashMap<>();
+        relocated.forEach((old, copies) -> result.put(old, copies.get(0)));
+        return result;
+    }
+
+    /**
+     * Drops blocks that are no longer indexed. Segments left without live blocks are unmapped
+     * and deleted; readers still holding one of their blocks keep a valid mapping until done.
+     */
+    public synchronized void release(Collection<ColdBlock> blocks) throws IOException {
+        for (ColdBlock block : blocks) {
+            TransactionSegment segment = block.getSegment();
+            if (segment.release(block.getCompressedLength()) == 0 && segments.remove(segment)) {
+                Files.deleteIfExists(segment.getPath());
+            }
+        }
+    }
+
+    /**
+     * Segments worth compacting: those of which less than half the bytes are still referenced,
+     * and small ones once there are several, so frequent demotion runs do not pile up files.
+     */
+    public synchronized Set<TransactionSegment> findSegmentsToCompact() {
+        Set<TransactionSegment> sparse = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<TransactionSegment> small = new ArrayList<>();
+        for (TransactionSegment segment : segments) {
+            if (segment.getLiveBytes() < segment.getSize() * MIN_LIVE_RATIO) {
+                sparse.add(segment);
+            } else if (segment.getSize() < SMALL_SEGMENT_BYTES) {
+                small.add(segment);
+            }
+        }
+        if (small.size() > 1) {
+            sparse.addAll(small);
+        }
+        return sparse;
+    }
+
+    /**
+     * Maximum number of transactions per block.
+     */
+    public int getBlockSize() {
+        return properties.getBlockSize();
+    }
+
+    /**
+     * Number of segment files currently mapped.
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Directory this store writes its segments into, or null before the first write.
+     */
+    public synchronized Path getInstanceDirectory() {
+        return instanceDirectory;
+    }
+
+    /**
+     * Deletes the segments written by this store, and its directory; a later write starts a new one.
+     */
+    @PreDestroy
+    public synchronized void deleteSegments() throws IOException {
+        for (TransactionSegment segment : segments) {
+            Files.deleteIfExists(segment.getPath());
+        }
+        segments.clear();
+        if (instanceDirectory != null) {
+            Files.deleteIfExists(instanceDirectory);
+            instanceDirectory = null;
+        }
+    }
+
+    // all private methods below
+    private void prepareDirectory() throws IOException {
+        if (instanceDirectory != null) {
+            return;
+        }
+        Files.createDirectories(properties.getDirectory());
+        instanceDirectory = Files.createTempDirectory(properties.getDirectory(),
+                "instance-" + ProcessHandle.current().pid() + "-");
+    }
+
+    private <K> SegmentWriter<K> rollIfFull(SegmentWriter<K> writer, Map<K, List<ColdBlock>> blocks)
+            throws IOException {
+        if (writer != null && writer.size() < properties.getMaxSegmentBytes()) {
+            return writer;
+        }
+        if (writer != null) {
+            writer.finish(blocks);
+        }
+        return new SegmentWriter<>(nextSegmentPath());
+    }
+
+    private Path nextSegmentPath() {
+        return instanceDirectory.resolve(
+                String.format("segment-%016d%s", segmentIds.incrementAndGet(), SEGMENT_SUFFIX));
+    }
+
+    private class SegmentWriter<K> {
+
+        private final Path path;
+        private final Path tempPath;
+        private final OutputStream out;
+        private final List<PendingBlock<K>> pending = new ArrayList<>();
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private long size;
+
+        SegmentWriter(Path path) throws IOException {
+            this.path = path;
+            this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            this.out = new BufferedOutputStream(Files.newOutputStream(tempPath));
+        }
+
+        long size() {
+            return size;
+        }
+
+        void writeBlock(K key, List<Transaction> transactions) throws IOException {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(transactions.size() * 64);
+            DataOutputStream data = new DataOutputStream(raw);
+            LocalDateTime min = transactions.get(0).getCreatedAt();
+            LocalDateTime max = min;
+            for (Transaction tx : transactions) {
+                TransactionSegment.encode(data, tx);
+                if (tx.getCreatedAt().isBefore(min)) {
+                    min = tx.getCreatedAt();
+                }
+                if (tx.getCreatedAt().isAfter(max)) {
+                    max = tx.getCreatedAt();
+                }
+            }
+            byte[] compressed = compress(raw.toByteArray());
+            out.write(compressed);
+            pending.add(new PendingBlock<>(key, size, compressed.length, raw.size(), transactions.size(),
+                    transactions.get(0).getTransactionId(), min, max));
+            size += compressed.length;
+        }
+
+        void copyBlock(K key, ColdBlock block) throws IOException {
+            ByteBuffer compressed = block.readCompressed();
+            byte[] bytes = new byte[compressed.remaining()];
+            compressed.get(bytes);
+            out.write(bytes);
+            pending.add(new PendingBlock<>(key, size, bytes.length, block.getRawLength(), block.getCount(),
+                    block.getFirstTransactionId(), block.getMinCreatedAt(), block.getMaxCreatedAt()));
+            size += bytes.length;
+        }
+
+        void finish(Map<K, List<ColdBlock>> blocks) throws IOException {
+            out.close();
+            deflater.end();
+            Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE);
+            TransactionSegment segment = TransactionSegment.open(path);
+            segments.add(segment);
+            for (PendingBlock<K> block : pending) {
+                segment.retain(block.compressedLength());
+                blocks.computeIfAbsent(block.key(), k -> new ArrayList<>())
+                        .add(new ColdBlock(segment, block.offset(), block.compressedLength(), block.rawLength(),
+                                block.count(), block.firstTransactionId(), block.minCreatedAt(),
+                                block.maxCreatedAt()));
+            }
+        }
+
+        void abort() throws IOException {
+            out.close();
+            deflater.end();
+            Files.deleteIfExists(tempPath);
+        }
+
+        private byte[] compress(byte[] raw) {
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                compressed.write(chunk, 0, n);
+            }
+            return compressed.toByteArray();
+        }
+    }
+
+    private record PendingBlock<K>(K key,
+                                long offset,
+                                int compressedLength,
+                                int rawLength,
+                                int count,
+                                long firstTransactionId,
+                                LocalDateTime minCreatedAt,
+                                LocalDateTime maxCreatedAt) {
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.config.TieringProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Periodically demotes old transactions from the heap into cold segments.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bank.storage", name = "backend", havingValue = "memory", matchIfMissing = true)
+public class TransactionTieringJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionTieringJob.class);
+
+    private final InMemoryTransactionRepository transactionRepository;
+    private final TieringProperties properties;
+
+    public TransactionTieringJob(InMemoryTransactionRepository transactionRepository,
+                                 TieringProperties properties) {
+        this.transactionRepository = transactionRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${bank.storage.tiering.interval:PT1M}")
+    public void demoteColdTransactions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            long demoted = transactionRepository.demoteColdTransactions(
+                    LocalDateTime.now().minus(properties.getHotRetention()),
+                    properties.getMaxHotTransactions());
+            if (demoted > 0) {
+                log.debug("Moved {} transactions to cold storage, {} remain on heap",
+                        demoted, transactionRepository.getHotTransactionCount());
+            }
+        } catch (IOException ex) {
+            log.error("Failed to write cold transaction segment, transactions stay on heap", ex);
+        }
+    }
+
+}
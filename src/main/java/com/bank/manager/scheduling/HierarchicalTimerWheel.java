@@ -0,0 +1,159 @@
+package com.bank.manager.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel with O(1) insertion and amortised O(1) expiry.
+ * <p>
+ * By default four levels of 256 slots each cover 2^32 ticks. Timers are placed on the lowest
+ * level whose span covers their remaining delay and are cascaded down one level
+ * each time the level below completes a revolution, as in the classic Linux kernel
+ * timer design. Delays beyond the top level are parked in its furthest slot and
+ * re-placed when cascaded.
+ * <p>
+ * Not thread-safe: callers must serialize access.
+ *
+ * @param <T> payload carried by each timer
+ */
+public class HierarchicalTimerWheel<T> {
+
+    private static final int DEFAULT_SLOT_BITS = 8;
+    private static final int DEFAULT_LEVELS = 4;
+
+    private final int slotBits;
+    private final long slotMask;
+    private final int levels;
+    private final long maxDelayTicks;
+    private final long tickMillis;
+    private final Node<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimerWheel(long tickMillis, long startMillis) {
+        this(tickMillis, startMillis, DEFAULT_SLOT_BITS, DEFAULT_LEVELS);
+    }
+
+    /**
+     * Wheel with a custom geometry, so tests can reach the upper levels in a few ticks.
+     */
+    @SuppressWarnings("unchecked")
+    HierarchicalTimerWheel(long tickMillis, long startMillis, int slotBits, int levels) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (slotBits < 1 || levels < 1 || slotBits * levels > 62) {
+            throw new IllegalArgumentException("Invalid wheel geometry");
+        }
+        this.slotBits = slotBits;
+        this.slotMask = (1L << slotBits) - 1;
+        this.levels = levels;
+        this.maxDelayTicks = (1L << (slotBits * levels)) - 1;
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.slots = new Node[levels][1 << slotBits];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < slots[level].length; slot++) {
+                Node<T> sentinel = new Node<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                slots[level][slot] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Schedules a payload to expire at the given time. Times in the past expire on the next tick.
+     */
+    public void schedule(T payload, long expiryMillis) {
+        long expiryTick = Math.max(expiryMillis / tickMillis, currentTick + 1);
+        place(new Node<>(payload, expiryTick));
+        size++;
+    }
+
+    /**
+     * Advances the wheel up to {@code nowMillis} and returns every payload that expired, in expiry order.
+     */
+    public List<T> advanceTo(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Node<T> sentinel = slots[0][(int) (currentTick & slotMask)];
+            for (Node<T> node = sentinel.next; node != sentinel; ) {
+                Node<T> next = node.next;
+                node.unlink();
+                expired.add(node.payload);
+                size--;
+                node = next;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Number of pending timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    // all private methods below
+    private void cascade() {
+        for (int level = 1; level < levels; level++) {
+            // a level is cascaded only when every level below it has wrapped around
+            if (((currentTick >>> (slotBits * (level - 1))) & slotMask) != 0) {
+                return;
+            }
+            Node<T> sentinel = slots[level][(int) ((currentTick >>> (slotBits * level)) & slotMask)];
+            for (Node<T> node = sentinel.next; node != sentinel; ) {
+                Node<T> next = node.next;
+                node.unlink();
+                place(node);
+                node = next;
+            }
+        }
+    }
+
+    private void place(Node<T> node) {
+        long delay = node.expiryTick - currentTick;
+        long slotTick = delay > maxDelayTicks ? currentTick + maxDelayTicks : node.expiryTick;
+        delay = Math.min(delay, maxDelayTicks);
+
+        int level = 0;
+        while (level < levels - 1 && delay >= (1L << (slotBits * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((slotTick >>> (slotBits * level)) & slotMask);
+        node.linkBefore(slots[level][slot]);
+    }
+
+    private static final class Node<T> {
+
+        private final T payload;
+        private final long expiryTick;
+        private Node<T> prev;
+        private Node<T> next;
+
+        private Node(T payload, long expiryTick) {
+            this.payload = payload;
+            this.expiryTick = expiryTick;
+        }
+
+        private void linkBefore(Node<T> sentinel) {
+            prev = sentinel.prev;
+            next = sentinel;
+            sentinel.prev.next = this;
+            sentinel.prev = this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.bank.manager.service;
 
 import com.bank.manager.dto.*;
+import com.bank.manager.model.LedgerSnapshot;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -21,6 +23,43 @@ public interface AccountService {
 
     TransferResponse transfer(TransferRequest request);
 
+    /**
+     * Applies several transfers with a single lock acquisition. A rejected or failed transfer
+     * does not affect the others; its exception is returned in the matching result.
+     */
+    List<TransferResult> transferBatch(List<TransferRequest> requests);
+
     List<TransactionResponse> getTransactionsForAccount(Long accountId);
 
+    /**
+     * Returns the transactions of an account created within the given range, latest first.
+     * A null bound leaves that side of the range open.
+     */
+    List<TransactionResponse> getTransactionsForAccount(Long accountId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Returns the balance of an account at the given instant, taken from the latest
+     * transaction recorded at or before it.
+     */
+    BalanceResponse getBalanceAsOf(Long accountId, LocalDateTime asOf);
+
+    /**
+     * Point-in-time balances of several accounts, in the order requested. Accounts are
+     * looked up in parallel.
+     */
+    List<BalanceResponse> getBalancesAsOf(List<Long> accountIds, LocalDateTime asOf);
+
+    /**
+     * Returns up to {@code limit} transactions of an account older than
+     * {@code beforeTransactionId} (the latest ones when null), latest first.
+     * Pass the id of the last returned transaction to fetch the next page.
+     */
+    List<TransactionResponse> getTransactionPage(Long accountId, Long beforeTransactionId, int limit);
+
+    /**
+     * Captures a consistent view of all balances together with the last committed
+     * transaction id, without blocking writers for longer than the copy takes.
+     */
+    LedgerSnapshot captureSnapshot();
+
 }
\ No newline at end of file
@@ -1,33 +1,57 @@
 package com.bank.manager.service;
 
 import com.bank.manager.dto.*;
+import com.bank.manager.event.LedgerEventPublisher;
 import com.bank.manager.exception.AccountNotFoundException;
 import com.bank.manager.exception.InsufficientBalanceException;
+import com.bank.manager.jfr.LedgerOperationEvent;
 import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.LedgerSnapshot;
 import com.bank.manager.model.Transaction;
 import com.bank.manager.model.TransactionType;
 import com.bank.manager.repository.AccountRepository;
+import com.bank.manager.repository.LedgerLockManager;
 import com.bank.manager.repository.TransactionRepository;
+import com.bank.manager.velocity.VelocityLimiter;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
- * Default implementation of AccountService using an in-memory repository.
+ * Default implementation of AccountService. Writes are serialized per account through
+ * the storage backend's {@link LedgerLockManager}.
  */
 @Service
 public class AccountServiceImpl implements AccountService {
 
+    private static final int MAX_BALANCE_LOOKUP_ACCOUNTS = 1000;
+
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final LedgerEventPublisher eventPublisher;
+    private final LedgerLockManager lockManager;
+    private final VelocityLimiter velocityLimiter;
+    private final AtomicReference<LocalDateTime> lastTimestamp = new AtomicReference<>(LocalDateTime.MIN);
 
     public AccountServiceImpl(AccountRepository accountRepository,
-                              TransactionRepository transactionRepository) {
+                              TransactionRepository transactionRepository,
+                              LedgerEventPublisher eventPublisher,
+                              LedgerLockManager lockManager,
+                              VelocityLimiter velocityLimiter) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+        this.lockManager = lockManager;
+        this.velocityLimiter = velocityLimiter;
     }
 
     @Override
@@ -36,20 +60,29 @@ public class AccountServiceImpl implements AccountService {
                 ? BigDecimal.ZERO
                 : request.getInitialBalance();
 
-        Account account = new Account(null,
-                request.getHolderName(),
-                initialBalance,
-                LocalDateTime.now());
-
-        Account saved = accountRepository.save(account);
-
-        // Optional: record an initial transaction if initialBalance > 0
-        if (initialBalance.compareTo(BigDecimal.ZERO) > 0) {
-            recordTransaction(saved, TransactionType.DEPOSIT, initialBalance,
-                    null, "Initial deposit on account creation");
-        }
-
-        return toResponse(saved);
+        return lockManager.withAccountsLocked(List.of(), () -> {
+            Account account = new Account(null,
+                    request.getHolderName(),
+                    request.getAccountClass() == null ? AccountClass.STANDARD : request.getAccountClass(),
+                    initialBalance,
+                    now());
+
+            Account saved = accountRepository.save(account);
+
+            // Optional: record an initial transaction if initialBalance > 0
+            Transaction initialDeposit = initialBalance.compareTo(BigDecimal.ZERO) > 0
+                    ? transactionRepository.save(newTransaction(saved, TransactionType.DEPOSIT,
+                            initialBalance, null, "Initial deposit on account creation"))
+                    : null;
+
+            lockManager.afterCommit(() -> {
+                eventPublisher.publishAccountUpdated(saved);
+                if (initialDeposit != null) {
+                    eventPublisher.publishTransactionRecorded(initialDeposit);
+                }
+            });
+            return toResponse(saved);
+        });
     }
 
     @Override
@@ -68,109 +101,284 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public synchronized AccountResponse deposit(Long accountId, AmountRequest request) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    public AccountResponse deposit(Long accountId, AmountRequest request) {
+        return recorded("DEPOSIT", accountId, null, request.getAmount(), () -> {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException(accountId));
+
+            BigDecimal newBalance = account.getBalance().add(request.getAmount());
+            account.setBalance(newBalance);
+            accountRepository.save(account);
+            Transaction tx = transactionRepository.save(newTransaction(account, TransactionType.DEPOSIT,
+                    request.getAmount(), null, "Deposit"));
+
+            lockManager.afterCommit(() -> {
+                eventPublisher.publishAccountUpdated(account);
+                eventPublisher.publishTransactionRecorded(tx);
+            });
+            return toResponse(account);
+        });
+    }
 
-        BigDecimal newBalance = account.getBalance().add(request.getAmount());
-        account.setBalance(newBalance);
-        accountRepository.save(account);
+    @Override
+    public AccountResponse withdraw(Long accountId, AmountRequest request) {
+        return recorded("WITHDRAWAL", accountId, null, request.getAmount(), () -> {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException(accountId));
+
+            BigDecimal amount = request.getAmount();
+            if (account.getBalance().compareTo(amount) < 0) {
+                throw new InsufficientBalanceException(account.getBalance(), amount);
+            }
+            // counted right away so the next outflow sees it; a rollback takes it back
+            long countedAt = velocityLimiter.checkAndRecord(account, amount);
+            lockManager.afterRollback(() -> velocityLimiter.undo(account, amount, countedAt));
+
+            BigDecimal newBalance = account.getBalance().subtract(amount);
+            account.setBalance(newBalance);
+            accountRepository.save(account);
+            Transaction tx = transactionRepository.save(newTransaction(account, TransactionType.WITHDRAWAL,
+                    amount, null, "Withdrawal"));
+
+            lockManager.afterCommit(() -> {
+                eventPublisher.publishAccountUpdated(account);
+                eventPublisher.publishTransactionRecorded(tx);
+            });
+            return toResponse(account);
+        });
+    }
 
-        recordTransaction(account, TransactionType.DEPOSIT, request.getAmount(),
-                null, "Deposit");
+    @Override
+    public TransferResponse transfer(TransferRequest request) {
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new IllegalArgumentException("fromAccountId and toAccountId must be different");
+        }
 
-        return toResponse(account);
+        return recorded("TRANSFER", request.getFromAccountId(), request.getToAccountId(), request.getAmount(), () -> {
+            Account from = accountRepository.findById(request.getFromAccountId())
+                    .orElseThrow(() -> new AccountNotFoundException(request.getFromAccountId()));
+            Account to = accountRepository.findById(request.getToAccountId())
+                    .orElseThrow(() -> new AccountNotFoundException(request.getToAccountId()));
+
+            if (from.getBalance().compareTo(request.getAmount()) < 0) {
+                throw new InsufficientBalanceException(from.getBalance(), request.getAmount());
+            }
+            long countedAt = velocityLimiter.checkAndRecord(from, request.getAmount());
+            lockManager.afterRollback(() -> velocityLimiter.undo(from, request.getAmount(), countedAt));
+
+            // Update balances
+            BigDecimal amount = request.getAmount();
+            from.setBalance(from.getBalance().subtract(amount));
+            to.setBalance(to.getBalance().add(amount));
+            accountRepository.save(from);
+            accountRepository.save(to);
+
+            // Record two transactions: OUT for from, IN for to
+            List<Transaction> recorded = transactionRepository.saveAll(List.of(
+                    newTransaction(from, TransactionType.TRANSFER_OUT, amount,
+                            to.getAccountId(), "Transfer to account " + to.getAccountId()),
+                    newTransaction(to, TransactionType.TRANSFER_IN, amount,
+                            from.getAccountId(), "Transfer from account " + from.getAccountId())));
+
+            lockManager.afterCommit(() -> {
+                eventPublisher.publishAccountUpdated(from);
+                eventPublisher.publishAccountUpdated(to);
+                recorded.forEach(eventPublisher::publishTransactionRecorded);
+            });
+            return new TransferResponse(toResponse(from), toResponse(to));
+        });
     }
 
     @Override
-    public synchronized AccountResponse withdraw(Long accountId, AmountRequest request) {
-        Account account = accountRepository.findById(accountId)
+    public List<TransferResult> transferBatch(List<TransferRequest> requests) {
+        return lockManager.withBatch(() -> {
+            List<TransferResult> results = new ArrayList<>(requests.size());
+            for (TransferRequest request : requests) {
+                try {
+                    results.add(TransferResult.success(transfer(request)));
+                } catch (RuntimeException ex) {
+                    // includes storage failures: transfers before this one are already applied,
+                    // so the caller must learn the outcome of every item, not just the first error
+                    results.add(TransferResult.failure(ex));
+                }
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public List<TransactionResponse> getTransactionsForAccount(Long accountId) {
+        // Ensure account exists (otherwise 404)
+        accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
 
-        BigDecimal amount = request.getAmount();
-        if (account.getBalance().compareTo(amount) < 0) {
-            throw new InsufficientBalanceException(account.getBalance(), amount);
+        return transactionRepository.findByAccountId(accountId)
+                .stream()
+                .map(TransactionResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TransactionResponse> getTransactionsForAccount(Long accountId, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return getTransactionsForAccount(accountId);
         }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
 
-        BigDecimal newBalance = account.getBalance().subtract(amount);
-        account.setBalance(newBalance);
-        accountRepository.save(account);
+        return transactionRepository.findByAccountIdBetween(accountId,
+                        from == null ? LocalDateTime.MIN : from,
+                        to == null ? LocalDateTime.MAX : to)
+                .stream()
+                .map(TransactionResponse::from)
+                .collect(Collectors.toList());
+    }
 
-        recordTransaction(account, TransactionType.WITHDRAWAL, amount,
-                null, "Withdrawal");
+    @Override
+    public BalanceResponse getBalanceAsOf(Long accountId, LocalDateTime asOf) {
+        requireCreatedBy(accountRepository.findById(accountId).orElse(null), accountId, asOf);
 
-        return toResponse(account);
+        return toBalance(accountId, asOf, transactionRepository.findLatestAtOrBefore(accountId, asOf).orElse(null));
     }
 
     @Override
-    public synchronized TransferResponse transfer(TransferRequest request) {
-        if (request.getFromAccountId().equals(request.getToAccountId())) {
-            throw new IllegalArgumentException("fromAccountId and toAccountId must be different");
+    public List<BalanceResponse> getBalancesAsOf(List<Long> accountIds, LocalDateTime asOf) {
+        if (accountIds.isEmpty() || accountIds.size() > MAX_BALANCE_LOOKUP_ACCOUNTS) {
+            throw new IllegalArgumentException("between 1 and " + MAX_BALANCE_LOOKUP_ACCOUNTS
+                    + " account ids must be given");
         }
-
-        Account from = accountRepository.findById(request.getFromAccountId())
-                .orElseThrow(() -> new AccountNotFoundException(request.getFromAccountId()));
-        Account to = accountRepository.findById(request.getToAccountId())
-                .orElseThrow(() -> new AccountNotFoundException(request.getToAccountId()));
-
-        if (from.getBalance().compareTo(request.getAmount()) < 0) {
-            throw new InsufficientBalanceException(from.getBalance(), request.getAmount());
+        // one batched lookup per repository instead of one round trip per account
+        Map<Long, Account> accounts = accountRepository.findAllById(accountIds)
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountId, Function.identity()));
+        for (Long accountId : accountIds) {
+            requireCreatedBy(accounts.get(accountId), accountId, asOf);
         }
-
-        // Update balances
-        BigDecimal amount = request.getAmount();
-        from.setBalance(from.getBalance().subtract(amount));
-        to.setBalance(to.getBalance().add(amount));
-        accountRepository.save(from);
-        accountRepository.save(to);
-
-        // Record two transactions: OUT for from, IN for to
-        recordTransaction(from, TransactionType.TRANSFER_OUT, amount,
-                to.getAccountId(), "Transfer to account " + to.getAccountId());
-        recordTransaction(to, TransactionType.TRANSFER_IN, amount,
-                from.getAccountId(), "Transfer from account " + from.getAccountId());
-
-        return new TransferResponse(toResponse(from), toResponse(to));
+        Map<Long, Transaction> latest = transactionRepository.findLatestAtOrBefore(accounts.keySet(), asOf);
+        return accountIds.stream()
+                .map(accountId -> toBalance(accountId, asOf, latest.get(accountId)))
+                .toList();
     }
 
     @Override
-    public List<TransactionResponse> getTransactionsForAccount(Long accountId) {
-        // Ensure account exists (otherwise 404)
+    public List<TransactionResponse> getTransactionPage(Long accountId, Long beforeTransactionId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
         accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
 
-        return transactionRepository.findByAccountId(accountId)
+        return transactionRepository.findPageByAccountId(accountId, beforeTransactionId, limit)
                 .stream()
                 .map(TransactionResponse::from)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public LedgerSnapshot captureSnapshot() {
+        return lockManager.withLedgerLocked(() -> {
+            List<Account> accounts = accountRepository.findAll()
+                    .stream()
+                    .map(account -> new Account(account.getAccountId(),
+                            account.getHolderName(),
+                            account.getAccountClass(),
+                            account.getBalance(),
+                            account.getCreatedAt()))
+                    .collect(Collectors.toList());
+            return new LedgerSnapshot(accounts, transactionRepository.lastTransactionId(), LocalDateTime.now());
+        });
+    }
+
     // all private methods below
+    /**
+     * Runs a write under the locks of the accounts involved and reports it as a
+     * {@link LedgerOperationEvent}, split into lock wait and execution time. Without a
+     * recording that enables the event, the write runs with no timing overhead.
+     */
+    private <T> T recorded(String operation, Long accountId, Long relatedAccountId, BigDecimal amount,
+                           Supplier<T> action) {
+        List<Long> accountIds = relatedAccountId == null ? List.of(accountId) : List.of(accountId, relatedAccountId);
+        LedgerOperationEvent event = new LedgerOperationEvent();
+        if (!event.isEnabled()) {
+            return lockManager.withAccountsLocked(accountIds, action);
+        }
+        event.begin();
+        long requested = System.nanoTime();
+        long[] acquired = {0};
+        boolean succeeded = false;
+        try {
+            T result = lockManager.withAccountsLocked(accountIds, () -> {
+                acquired[0] = System.nanoTime();
+                return action.get();
+            });
+            succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                long finished = System.nanoTime();
+                // a failure before the locks were granted counts entirely as lock wait
+                long granted = acquired[0] == 0 ? finished : acquired[0];
+                event.setOperation(operation, accountId, relatedAccountId, amount);
+                event.setTimings(granted - requested, finished - granted);
+                event.setSucceeded(succeeded);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Creation time for a new account or transaction. It never goes back, even when the
+     * wall clock does: writes to an account hold its lock, so each account's history is
+     * in time order as well as id order, which point-in-time lookups rely on.
+     */
+    private LocalDateTime now() {
+        return lastTimestamp.accumulateAndGet(LocalDateTime.now(), (last, now) -> now.isAfter(last) ? now : last);
+    }
+
+    private void requireCreatedBy(Account account, Long accountId, LocalDateTime asOf) {
+        if (account == null) {
+            throw new AccountNotFoundException(accountId);
+        }
+        if (asOf.isBefore(account.getCreatedAt())) {
+            throw new IllegalArgumentException("asOf is before account " + accountId + " was created");
+        }
+    }
+
+    private BalanceResponse toBalance(Long accountId, LocalDateTime asOf, Transaction latest) {
+        return latest == null
+                ? new BalanceResponse(accountId, asOf, BigDecimal.ZERO, null)
+                : new BalanceResponse(accountId, asOf, latest.getBalanceAfter(), latest.getTransactionId());
+    }
+
     private AccountResponse toResponse(Account account) {
         return new AccountResponse(
                 account.getAccountId(),
                 account.getHolderName(),
+                account.getAccountClass(),
                 account.getBalance(),
                 account.getCreatedAt()
         );
     }
 
-    private void recordTransaction(Account account,
-                                   TransactionType type,
-                                   BigDecimal amount,
-                                   Long relatedAccountId,
-                                   String description) {
-        Transaction tx = new Transaction(
+    private Transaction newTransaction(Account account,
+                                       TransactionType type,
+                                       BigDecimal amount,
+                                       Long relatedAccountId,
+                                       String description) {
+        return new Transaction(
                 null,
                 account.getAccountId(),
                 type,
                 amount,
                 account.getBalance(),       // balance AFTER the operation
-                LocalDateTime.now(),
+                now(),
                 relatedAccountId,
                 description
         );
-        transactionRepository.save(tx);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.bank.manager.service;
+
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.dto.TransactionResponse;
+
+import java.util.List;
+
+/**
+ * Leaderboards maintained incrementally from ledger events.
+ */
+public interface RankingService {
+
+    /**
+     * Returns the accounts with the highest balances, highest first.
+     */
+    List<AccountResponse> getTopBalances(int limit);
+
+    /**
+     * Returns the largest transfers of the configured sliding window, largest first.
+     * Each transfer is represented by its outgoing leg.
+     */
+    List<TransactionResponse> getTopTransfers(int limit);
+
+}
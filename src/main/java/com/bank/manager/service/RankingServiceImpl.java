@@ -0,0 +1,145 @@
+package com.bank.manager.service;
+
+import com.bank.manager.config.RankingProperties;
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.dto.TransactionResponse;
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.event.LedgerEventListener;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.TransactionType;
+import com.bank.manager.ranking.BalanceIndex;
+import com.bank.manager.ranking.TopTransfersWindow;
+import com.bank.manager.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the leaderboards current by listening to ledger events, so reads never scan
+ * accounts or transaction histories.
+ * <p>
+ * Balance changes are applied to the index by a single updater thread, off the writer's
+ * path: dispatch only records the latest state per account, so the index may briefly lag
+ * the ledger and bursts on one account are collapsed into one update.
+ * <p>
+ * The balance index is seeded from the repository on startup. The transfer window
+ * only covers transfers made since then.
+ */
+@Service
+public class RankingServiceImpl implements RankingService, LedgerEventListener {
+
+    private final AccountRepository accountRepository;
+    private final RankingProperties properties;
+    private final BalanceIndex balanceIndex = new BalanceIndex();
+    private final TopTransfersWindow transfersWindow;
+    // latest unapplied balance change per account, and the accounts in the order they changed
+    private final Map<Long, LedgerEvent> pendingUpdates = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> changedAccounts = new LinkedBlockingQueue<>();
+    private final Object indexLock = new Object();
+    // bumped on restore, so an update taken before it is not applied after the reseed
+    private volatile long generation;
+    private Thread updater;
+
+    public RankingServiceImpl(AccountRepository accountRepository, RankingProperties properties) {
+        this.accountRepository = accountRepository;
+        this.properties = properties;
+        this.transfersWindow = new TopTransfersWindow(properties.getTransferWindow().toMillis(),
+                properties.getTransferBucketWidth().toMillis(),
+                properties.getMaxTopTransfers());
+    }
+
+    @PostConstruct
+    public void start() {
+        synchronized (indexLock) {
+            seedBalanceIndex();
+        }
+        updater = Thread.ofPlatform().daemon().name("balance-index-updater").start(this::applyUpdates);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (updater != null) {
+            updater.interrupt();
+        }
+    }
+
+    @Override
+    public void onLedgerEvent(LedgerEvent event) {
+        if (event.getType() == LedgerEvent.Type.ACCOUNT_UPDATED) {
+            if (pendingUpdates.put(event.getAccountId(), event) == null) {
+                changedAccounts.add(event.getAccountId());
+            }
+        } else if (event.getTransaction().getType() == TransactionType.TRANSFER_OUT) {
+            transfersWindow.add(event.getTransaction(), event.getPublishedAt().toEpochMilli());
+        }
+    }
+
+    @Override
+    public void onLedgerRestored() {
+        synchronized (indexLock) {
+            pendingUpdates.clear();
+            changedAccounts.clear();
+            generation++;
+            balanceIndex.clear();
+            seedBalanceIndex();
+        }
+    }
+
+    @Override
+    public List<AccountResponse> getTopBalances(int limit) {
+        validateLimit(limit, properties.getMaxTopBalances());
+        return balanceIndex.top(limit);
+    }
+
+    @Override
+    public List<TransactionResponse> getTopTransfers(int limit) {
+        validateLimit(limit, properties.getMaxTopTransfers());
+        return transfersWindow.top(limit, System.currentTimeMillis())
+                .stream()
+                .map(TransactionResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    // all private methods below
+    private void seedBalanceIndex() {
+        for (Account account : accountRepository.findAll()) {
+            balanceIndex.update(account.getAccountId(), account.getHolderName(), account.getAccountClass(),
+                    account.getBalance(), account.getCreatedAt());
+        }
+    }
+
+    private void applyUpdates() {
+        try {
+            while (true) {
+                Long accountId = changedAccounts.take();
+                long taken = generation;
+                LedgerEvent event = pendingUpdates.remove(accountId);
+                if (event == null) {
+                    continue;
+                }
+                synchronized (indexLock) {
+                    if (taken == generation) {
+                        balanceIndex.update(event.getAccountId(), event.getHolderName(), event.getAccountClass(),
+                                event.getBalance(), event.getAccountCreatedAt());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void validateLimit(int limit, int max) {
+        if (limit < 1 || limit > max) {
+            throw new IllegalArgumentException("limit must be between 1 and " + max);
+        }
+    }
+
+}
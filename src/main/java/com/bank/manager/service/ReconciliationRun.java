@@ -0,0 +1,129 @@
+package com.bank.manager.service;
+
+import com.bank.manager.dto.DiscrepancyResponse;
+import com.bank.manager.dto.ReconciliationReportResponse;
+import com.bank.manager.model.Discrepancy;
+import com.bank.manager.model.LedgerSnapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Progress and findings of a single reconciliation run. Safe to update from many worker threads.
+ */
+class ReconciliationRun {
+
+    enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final long runId;
+    private final LedgerSnapshot snapshot;
+    private final int maxReported;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final AtomicInteger checkedAccounts = new AtomicInteger();
+    private final LongAdder discrepancyCount = new LongAdder();
+    private final AtomicInteger reportedCount = new AtomicInteger();
+    private final Queue<Discrepancy> reported = new ConcurrentLinkedQueue<>();
+
+    // +1 for every TRANSFER_OUT, -1 for every TRANSFER_IN; a balanced pair removes the key
+    private final Map<TransferKey, Long> openTransfers = new ConcurrentHashMap<>();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+
+    ReconciliationRun(long runId, LedgerSnapshot snapshot, int maxReported) {
+        this.runId = runId;
+        this.snapshot = snapshot;
+        this.maxReported = maxReported;
+    }
+
+    LedgerSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    void accountChecked() {
+        checkedAccounts.incrementAndGet();
+    }
+
+    void report(Discrepancy discrepancy) {
+        discrepancyCount.increment();
+        if (reportedCount.getAndIncrement() < maxReported) {
+            reported.add(discrepancy);
+        }
+    }
+
+    void transferOut(Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        openTransfers.merge(new TransferKey(fromAccountId, toAccountId, amount.stripTrailingZeros()), 1L,
+                ReconciliationRun::sumOrRemove);
+    }
+
+    void transferIn(Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        openTransfers.merge(new TransferKey(fromAccountId, toAccountId, amount.stripTrailingZeros()), -1L,
+                ReconciliationRun::sumOrRemove);
+    }
+
+    void reportUnmatchedTransfers() {
+        openTransfers.forEach((key, count) -> {
+            if (count > 0) {
+                report(new Discrepancy(Discrepancy.Type.UNMATCHED_TRANSFER, key.fromAccountId(), null,
+                        count + " TRANSFER_OUT of " + key.amount() + " to account " + key.toAccountId()
+                                + " without matching TRANSFER_IN"));
+            } else {
+                report(new Discrepancy(Discrepancy.Type.UNMATCHED_TRANSFER, key.toAccountId(), null,
+                        -count + " TRANSFER_IN of " + key.amount() + " from account " + key.fromAccountId()
+                                + " without matching TRANSFER_OUT"));
+            }
+        });
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail() {
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    ReconciliationReportResponse toResponse() {
+        return new ReconciliationReportResponse(
+                runId,
+                status.name(),
+                startedAt,
+                finishedAt,
+                snapshot.getLastTransactionId(),
+                snapshot.getAccounts().size(),
+                checkedAccounts.get(),
+                discrepancyCount.sum(),
+                reported.stream()
+                        .map(DiscrepancyResponse::from)
+                        .collect(Collectors.toList())
+        );
+    }
+
+    // all private methods below
+    private static Long sumOrRemove(Long current, Long delta) {
+        long sum = current + delta;
+        return sum == 0 ? null : sum;
+    }
+
+    private record TransferKey(Long fromAccountId, Long toAccountId, BigDecimal amount) {
+    }
+
+}
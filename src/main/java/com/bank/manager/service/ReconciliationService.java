@@ -0,0 +1,24 @@
+package com.bank.manager.service;
+
+import com.bank.manager.dto.ReconciliationReportResponse;
+
+import java.util.Optional;
+
+/**
+ * Verifies that balances, balance chains and transfer pairs in the ledger agree.
+ */
+public interface ReconciliationService {
+
+    /**
+     * Starts a reconciliation run in the background unless one is already running.
+     *
+     * @return the progress of the started (or already running) run
+     */
+    ReconciliationReportResponse startReconciliation();
+
+    /**
+     * Returns the progress of the current run, or the result of the last finished one.
+     */
+    Optional<ReconciliationReportResponse> getLatestReport();
+
+}
@@ -0,0 +1,181 @@
+package com.bank.manager.service;
+
+import com.bank.manager.config.ReconciliationProperties;
+import com.bank.manager.dto.ReconciliationReportResponse;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.Discrepancy;
+import com.bank.manager.model.LedgerSnapshot;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+import com.bank.manager.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fork/join implementation of ReconciliationService.
+ * <p>
+ * Balances are checked against a {@link LedgerSnapshot}, so the run can proceed
+ * while the system keeps taking traffic: transactions committed after the
+ * snapshot are simply ignored.
+ */
+@Service
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationServiceImpl.class);
+    private static final int ACCOUNTS_PER_TASK = 64;
+
+    private final AccountService accountService;
+    private final TransactionRepository transactionRepository;
+    private final ReconciliationProperties properties;
+    private final ForkJoinPool pool;
+    private final AtomicLong runIds = new AtomicLong();
+
+    private volatile ReconciliationRun latestRun;
+
+    public ReconciliationServiceImpl(AccountService accountService,
+                                     TransactionRepository transactionRepository,
+                                     ReconciliationProperties properties) {
+        this.accountService = accountService;
+        this.transactionRepository = transactionRepository;
+        this.properties = properties;
+        this.pool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+    }
+
+    @Override
+    public synchronized ReconciliationReportResponse startReconciliation() {
+        ReconciliationRun current = latestRun;
+        if (current != null && current.isRunning()) {
+            return current.toResponse();
+        }
+
+        LedgerSnapshot snapshot = accountService.captureSnapshot();
+        ReconciliationRun run = new ReconciliationRun(runIds.incrementAndGet(), snapshot,
+                properties.getMaxReportedDiscrepancies());
+        latestRun = run;
+        pool.execute(() -> execute(run));
+        return run.toResponse();
+    }
+
+    @Override
+    public Optional<ReconciliationReportResponse> getLatestReport() {
+        ReconciliationRun current = latestRun;
+        return current == null ? Optional.empty() : Optional.of(current.toResponse());
+    }
+
+    @Scheduled(initialDelayString = "${bank.reconciliation.interval:PT5M}",
+            fixedDelayString = "${bank.reconciliation.interval:PT5M}")
+    public void scheduledReconciliation() {
+        if (properties.isEnabled()) {
+            startReconciliation();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // all private methods below
+    private void execute(ReconciliationRun run) {
+        try {
+            List<Account> accounts = run.getSnapshot().getAccounts();
+            new AccountRangeTask(run, accounts, 0, accounts.size()).invoke();
+            run.reportUnmatchedTransfers();
+            run.complete();
+        } catch (RuntimeException ex) {
+            log.error("Reconciliation run failed", ex);
+            run.fail();
+        }
+    }
+
+    private void checkAccount(ReconciliationRun run, Account account) {
+        Long accountId = account.getAccountId();
+        List<Transaction> entries = transactionRepository.findByAccountId(accountId)
+                .stream()
+                .filter(run.getSnapshot()::includes)
+                .sorted(Comparator.comparing(Transaction::getTransactionId))
+                .toList();
+
+        BigDecimal net = BigDecimal.ZERO;
+        BigDecimal expectedAfter = BigDecimal.ZERO;
+        LocalDateTime previousCreatedAt = null;
+
+        for (Transaction tx : entries) {
+            BigDecimal delta = signedAmount(tx);
+            net = net.add(delta);
+            expectedAfter = expectedAfter.add(delta);
+
+            if (tx.getBalanceAfter().compareTo(expectedAfter) != 0) {
+                run.report(new Discrepancy(Discrepancy.Type.BROKEN_BALANCE_CHAIN, accountId, tx.getTransactionId(),
+                        "Expected balanceAfter " + expectedAfter + " but was " + tx.getBalanceAfter()));
+                // continue the chain from the recorded value so one break is reported once
+                expectedAfter = tx.getBalanceAfter();
+            }
+            if (previousCreatedAt != null && tx.getCreatedAt().isBefore(previousCreatedAt)) {
+                run.report(new Discrepancy(Discrepancy.Type.TIMESTAMP_OUT_OF_ORDER, accountId, tx.getTransactionId(),
+                        "Entry is dated before the previous entry (" + previousCreatedAt + ")"));
+            }
+            previousCreatedAt = tx.getCreatedAt();
+
+            if (tx.getType() == TransactionType.TRANSFER_OUT) {
+                run.transferOut(accountId, tx.getRelatedAccountId(), tx.getAmount());
+            } else if (tx.getType() == TransactionType.TRANSFER_IN) {
+                run.transferIn(tx.getRelatedAccountId(), accountId, tx.getAmount());
+            }
+        }
+
+        if (account.getBalance().compareTo(net) != 0) {
+            run.report(new Discrepancy(Discrepancy.Type.BALANCE_MISMATCH, accountId, null,
+                    "Balance is " + account.getBalance() + " but ledger entries add up to " + net));
+        }
+        run.accountChecked();
+    }
+
+    private BigDecimal signedAmount(Transaction tx) {
+        return switch (tx.getType()) {
+            case DEPOSIT, TRANSFER_IN -> tx.getAmount();
+            case WITHDRAWAL, TRANSFER_OUT -> tx.getAmount().negate();
+        };
+    }
+
+    private class AccountRangeTask extends RecursiveAction {
+
+        private final ReconciliationRun run;
+        private final List<Account> accounts;
+        private final int from;
+        private final int to;
+
+        AccountRangeTask(ReconciliationRun run, List<Account> accounts, int from, int to) {
+            this.run = run;
+            this.accounts = accounts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ACCOUNTS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    checkAccount(run, accounts.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AccountRangeTask(run, accounts, from, middle),
+                    new AccountRangeTask(run, accounts, middle, to));
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.bank.manager.service;
+
+import com.bank.manager.dto.ReplicationStatusResponse;
+
+/**
+ * Read-only view of ledger replication for monitoring.
+ */
+public interface ReplicationService {
+
+    /**
+     * Returns the role of this instance and how far it, or its replicas, are behind.
+     */
+    ReplicationStatusResponse getStatus();
+
+}
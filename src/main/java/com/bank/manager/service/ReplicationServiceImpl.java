@@ -0,0 +1,60 @@
+package com.bank.manager.service;
+
+import com.bank.manager.config.ReplicationProperties;
+import com.bank.manager.dto.ReplicaStatusResponse;
+import com.bank.manager.dto.ReplicationStatusResponse;
+import com.bank.manager.event.LedgerEventPublisher;
+import com.bank.manager.replication.ReplicationClient;
+import com.bank.manager.replication.ReplicationServer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+@Service
+public class ReplicationServiceImpl implements ReplicationService {
+
+    private final ReplicationProperties properties;
+    private final LedgerEventPublisher eventPublisher;
+    private final ObjectProvider<ReplicationServer> replicationServer;
+    private final ObjectProvider<ReplicationClient> replicationClient;
+
+    public ReplicationServiceImpl(ReplicationProperties properties,
+                                  LedgerEventPublisher eventPublisher,
+                                  ObjectProvider<ReplicationServer> replicationServer,
+                                  ObjectProvider<ReplicationClient> replicationClient) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.replicationServer = replicationServer;
+        this.replicationClient = replicationClient;
+    }
+
+    @Override
+    public ReplicationStatusResponse getStatus() {
+        String role = properties.getRole().name().toLowerCase();
+        long sequence = eventPublisher.currentSequence();
+
+        ReplicationClient client = replicationClient.getIfAvailable();
+        if (client != null) {
+            long applied = client.getAppliedSequence();
+            long primarySequence = client.getPrimarySequence();
+            Duration lag = client.getLag();
+            return new ReplicationStatusResponse(role, applied, primarySequence,
+                    Math.max(0, primarySequence - applied), lag != null ? lag.toMillis() : null,
+                    client.isConnected(), client.getLastContactAt(), null);
+        }
+
+        ReplicationServer server = replicationServer.getIfAvailable();
+        if (server != null) {
+            List<ReplicaStatusResponse> replicas = server.getReplicas().stream()
+                    .map(replica -> new ReplicaStatusResponse(replica.address(), replica.sentSequence(),
+                            Math.max(0, sequence - replica.sentSequence()), replica.connectedAt()))
+                    .toList();
+            return new ReplicationStatusResponse(role, sequence, null, null, null, null, null, replicas);
+        }
+
+        return new ReplicationStatusResponse(role, sequence, null, null, null, null, null, null);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.bank.manager.service;
+
+import com.bank.manager.dto.CreateStandingOrderRequest;
+import com.bank.manager.dto.StandingOrderResponse;
+
+import java.util.List;
+
+/**
+ * Business logic for recurring transfers.
+ */
+public interface StandingOrderService {
+
+    /**
+     * Creates a standing order and schedules its first execution.
+     */
+    StandingOrderResponse createStandingOrder(CreateStandingOrderRequest request);
+
+    StandingOrderResponse getStandingOrderById(Long standingOrderId);
+
+    List<StandingOrderResponse> getAllStandingOrders();
+
+    /**
+     * Stops all future executions of a standing order.
+     */
+    StandingOrderResponse cancelStandingOrder(Long standingOrderId);
+
+    /**
+     * Executes every standing order that is due by now.
+     *
+     * @return the number of executed transfers
+     */
+    int executeDueOrders();
+
+}
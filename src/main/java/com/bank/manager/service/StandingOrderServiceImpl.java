@@ -0,0 +1,268 @@
+package com.bank.manager.service;
+
+import com.bank.manager.config.StandingOrderProperties;
+import com.bank.manager.dto.*;
+import com.bank.manager.exception.AccountNotFoundException;
+import com.bank.manager.exception.InvalidAmountException;
+import com.bank.manager.exception.StandingOrderNotFoundException;
+import com.bank.manager.model.StandingOrder;
+import com.bank.manager.model.StandingOrderStatus;
+import com.bank.manager.repository.StandingOrderRepository;
+import com.bank.manager.scheduling.HierarchicalTimerWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Standing orders fired by a hierarchical timer wheel.
+ * <p>
+ * Every active order has exactly one pending timer. Cancellation is lazy: the
+ * order is marked CANCELLED and its timer is discarded when it expires.
+ * <p>
+ * Orders are changed both by request threads (cancel) and by the scheduler, so every
+ * read or change of an order's state happens while holding the order's monitor. The
+ * scheduler re-checks for CANCELLED before running an order and before rescheduling
+ * it; a cancel that lands while its transfer is in flight stops all later executions.
+ */
+@Service
+public class StandingOrderServiceImpl implements StandingOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingOrderServiceImpl.class);
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final AccountService accountService;
+    private final StandingOrderProperties properties;
+    private final HierarchicalTimerWheel<StandingOrder> timerWheel;
+    // many orders share a schedule (e.g. monthly salaries), so parse each expression once
+    private final Map<String, CronExpression> schedules = new ConcurrentHashMap<>();
+
+    public StandingOrderServiceImpl(StandingOrderRepository standingOrderRepository,
+                                    AccountService accountService,
+                                    StandingOrderProperties properties) {
+        this.standingOrderRepository = standingOrderRepository;
+        this.accountService = accountService;
+        this.properties = properties;
+        this.timerWheel = new HierarchicalTimerWheel<>(properties.getTick().toMillis(), System.currentTimeMillis());
+    }
+
+    @Override
+    public StandingOrderResponse createStandingOrder(CreateStandingOrderRequest request) {
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new IllegalArgumentException("fromAccountId and toAccountId must be different");
+        }
+        // Ensure both accounts exist (otherwise 404)
+        accountService.getAccountById(request.getFromAccountId());
+        accountService.getAccountById(request.getToAccountId());
+
+        CronExpression schedule = parseSchedule(request.getSchedule());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime firstExecution = schedule.next(now);
+        if (firstExecution == null) {
+            throw new IllegalArgumentException("Schedule '" + request.getSchedule() + "' never fires");
+        }
+
+        StandingOrder order = new StandingOrder(null,
+                request.getFromAccountId(),
+                request.getToAccountId(),
+                request.getAmount(),
+                request.getSchedule(),
+                firstExecution,
+                now);
+        StandingOrder saved = standingOrderRepository.save(order);
+        scheduleAt(saved, firstExecution);
+
+        return toResponse(saved);
+    }
+
+    @Override
+    public StandingOrderResponse getStandingOrderById(Long standingOrderId) {
+        return toResponse(findOrder(standingOrderId));
+    }
+
+    @Override
+    public List<StandingOrderResponse> getAllStandingOrders() {
+        return standingOrderRepository.findAll()
+                .stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public StandingOrderResponse cancelStandingOrder(Long standingOrderId) {
+        StandingOrder order = findOrder(standingOrderId);
+        synchronized (order) {
+            order.setStatus(StandingOrderStatus.CANCELLED);
+            order.setNextExecutionAt(null);
+            standingOrderRepository.save(order);
+            return StandingOrderResponse.from(order);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bank.standing-orders.tick:PT1S}")
+    public void scheduledExecution() {
+        executeDueOrders();
+    }
+
+    @Override
+    public int executeDueOrders() {
+        List<StandingOrder> due;
+        synchronized (timerWheel) {
+            due = timerWheel.advanceTo(System.currentTimeMillis());
+        }
+
+        int executed = 0;
+        List<StandingOrder> batch = new ArrayList<>(properties.getBatchSize());
+        for (StandingOrder order : due) {
+            if (!isActive(order)) {
+                continue;
+            }
+            batch.add(order);
+            if (batch.size() == properties.getBatchSize()) {
+                executed += executeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            executed += executeBatch(batch);
+        }
+        return executed;
+    }
+
+    // all private methods below
+    private int executeBatch(List<StandingOrder> batch) {
+        List<TransferRequest> requests = new ArrayList<>(batch.size());
+        for (StandingOrder order : batch) {
+            TransferRequest request = new TransferRequest();
+            request.setFromAccountId(order.getFromAccountId());
+            request.setToAccountId(order.getToAccountId());
+            request.setAmount(order.getAmount());
+            requests.add(request);
+        }
+
+        List<TransferResult> results;
+        try {
+            results = accountService.transferBatch(requests);
+        } catch (RuntimeException ex) {
+            // every transfer reports its own failure, so nothing ran: retry them all rather
+            // than leaving the orders active without a pending timer
+            log.warn("Standing order batch of {} failed before any transfer ran", batch.size(), ex);
+            results = Collections.nCopies(batch.size(), TransferResult.failure(ex));
+        }
+
+        int executed = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            StandingOrder order = batch.get(i);
+            TransferResult result = results.get(i);
+            if (result.isSuccess()) {
+                executed++;
+            }
+            synchronized (order) {
+                recordOutcome(order, result, now);
+                standingOrderRepository.save(order);
+            }
+        }
+        return executed;
+    }
+
+    /**
+     * Applies the outcome of one execution. Must hold the order's monitor.
+     */
+    private void recordOutcome(StandingOrder order, TransferResult result, LocalDateTime now) {
+        // cancelled while the transfer ran: record what happened, but never schedule it again
+        boolean cancelled = order.getStatus() == StandingOrderStatus.CANCELLED;
+        if (result.isSuccess()) {
+            order.setExecutionCount(order.getExecutionCount() + 1);
+            order.setFailedAttempts(0);
+            order.setLastError(null);
+            if (!cancelled) {
+                scheduleNextOccurrence(order, now);
+            }
+        } else if (cancelled) {
+            order.setLastError(result.getError().getMessage());
+        } else if (isPermanentFailure(result.getError())) {
+            // missing account or invalid request: retrying cannot help
+            order.setStatus(StandingOrderStatus.FAILED);
+            order.setNextExecutionAt(null);
+            order.setLastError(result.getError().getMessage());
+        } else {
+            // insufficient balance, velocity limit or a transient storage error
+            retryLater(order, result.getError(), now);
+        }
+    }
+
+    private boolean isActive(StandingOrder order) {
+        synchronized (order) {
+            return order.getStatus() == StandingOrderStatus.ACTIVE;
+        }
+    }
+
+    private StandingOrderResponse toResponse(StandingOrder order) {
+        synchronized (order) {
+            return StandingOrderResponse.from(order);
+        }
+    }
+
+    private boolean isPermanentFailure(RuntimeException error) {
+        return error instanceof AccountNotFoundException
+                || error instanceof InvalidAmountException
+                || error instanceof IllegalArgumentException;
+    }
+
+    private void retryLater(StandingOrder order, RuntimeException error, LocalDateTime now) {
+        order.setLastError(error.getMessage());
+        int attempts = order.getFailedAttempts() + 1;
+        if (attempts > properties.getMaxRetries()) {
+            // give up on this occurrence only; the order stays active
+            order.setFailedAttempts(0);
+            scheduleNextOccurrence(order, now);
+            return;
+        }
+        order.setFailedAttempts(attempts);
+        long backoffMillis = properties.getRetryBackoff().toMillis() << Math.min(attempts - 1, 30);
+        Duration backoff = Duration.ofMillis(Math.min(backoffMillis, properties.getMaxRetryBackoff().toMillis()));
+        LocalDateTime retryAt = now.plus(backoff);
+        order.setNextExecutionAt(retryAt);
+        scheduleAt(order, retryAt);
+    }
+
+    private void scheduleNextOccurrence(StandingOrder order, LocalDateTime now) {
+        LocalDateTime next = parseSchedule(order.getSchedule()).next(now);
+        order.setNextExecutionAt(next);
+        if (next == null) {
+            order.setStatus(StandingOrderStatus.CANCELLED);
+            return;
+        }
+        scheduleAt(order, next);
+    }
+
+    private void scheduleAt(StandingOrder order, LocalDateTime executionTime) {
+        long expiryMillis = executionTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (timerWheel) {
+            timerWheel.schedule(order, expiryMillis);
+        }
+    }
+
+    private CronExpression parseSchedule(String schedule) {
+        // CronExpression.parse throws IllegalArgumentException for invalid input (-> 400)
+        return schedules.computeIfAbsent(schedule, CronExpression::parse);
+    }
+
+    private StandingOrder findOrder(Long standingOrderId) {
+        return standingOrderRepository.findById(standingOrderId)
+                .orElseThrow(() -> new StandingOrderNotFoundException(standingOrderId));
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.bank.manager.stream;
+
+import com.bank.manager.config.StreamProperties;
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.event.LedgerEventListener;
+import com.bank.manager.event.LedgerEventLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Fans ledger events out to SSE subscribers without ever blocking the writer.
+ * <p>
+ * Each drain runs on its own virtual thread, so a client that stops reading only ties
+ * up its own sender. Sends that stay blocked past the send timeout get the client
+ * disconnected.
+ */
+@Component
+public class LedgerStreamBroadcaster implements LedgerEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerStreamBroadcaster.class);
+
+    private final Map<Long, Set<Subscription>> subscriptionsByAccount = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final LedgerEventLog eventLog;
+    private final StreamProperties properties;
+    private final ExecutorService sender;
+
+    public LedgerStreamBroadcaster(LedgerEventLog eventLog, StreamProperties properties) {
+        this.eventLog = eventLog;
+        this.properties = properties;
+        this.sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ledger-stream-", 1).factory());
+    }
+
+    @Override
+    public void onLedgerEvent(LedgerEvent event) {
+        Set<Subscription> subscriptions = subscriptionsByAccount.get(event.getAccountId());
+        if (subscriptions != null) {
+            for (Subscription subscription : subscriptions) {
+                subscription.deliver(event);
+            }
+        }
+    }
+
+    /**
+     * Opens a change feed for the given accounts.
+     *
+     * @param fromSequence resume after this sequence number, or null for live events only
+     * @param currentState supplies the current account states if the requested history is no longer available
+     */
+    public SseEmitter subscribe(Set<Long> accountIds, Long fromSequence,
+                                Supplier<List<AccountResponse>> currentState) throws IOException {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscription subscription = new Subscription(accountIds, emitter, properties.getBufferCapacity(),
+                properties.getSlowConsumerPolicy(), sender, this::unregister);
+
+        // read the position before registering, so nothing published in between is missed
+        long from = fromSequence != null ? fromSequence : eventLog.getLastSequence();
+        register(subscription);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+
+        long deliveredUpTo = from;
+        Optional<List<LedgerEvent>> history = eventLog.eventsAfter(from);
+        if (history.isPresent()) {
+            for (LedgerEvent event : history.get()) {
+                if (accountIds.contains(event.getAccountId())) {
+                    subscription.sendInitial(event);
+                }
+                deliveredUpTo = event.getSequence();
+            }
+        } else {
+            // too far behind to replay: send current state instead
+            deliveredUpTo = eventLog.getLastSequence();
+            for (AccountResponse account : currentState.get()) {
+                subscription.sendSnapshot(account);
+            }
+        }
+        subscription.start(deliveredUpTo);
+        return emitter;
+    }
+
+    /**
+     * Disconnects subscribers whose current send has been blocked for longer than the send timeout.
+     */
+    @Scheduled(fixedDelayString = "${bank.stream.stall-check-interval:PT1S}")
+    public void disconnectStalledSubscribers() {
+        long now = System.nanoTime();
+        long timeout = properties.getSendTimeout().toNanos();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.isStalled(now, timeout)) {
+                log.info("Disconnecting SSE subscriber for accounts {}: send blocked for more than {}",
+                        subscription.getAccountIds(), properties.getSendTimeout());
+                subscription.disconnect();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    // all private methods below
+    private void register(Subscription subscription) {
+        subscriptions.add(subscription);
+        for (Long accountId : subscription.getAccountIds()) {
+            subscriptionsByAccount.computeIfAbsent(accountId, k -> new CopyOnWriteArraySet<>()).add(subscription);
+        }
+    }
+
+    private void unregister(Subscription subscription) {
+        subscriptions.remove(subscription);
+        for (Long accountId : subscription.getAccountIds()) {
+            subscriptionsByAccount.computeIfPresent(accountId, (k, subscriptions) -> {
+                subscriptions.remove(subscription);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        }
+    }
+
+}
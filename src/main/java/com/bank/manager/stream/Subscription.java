@@ -0,0 +1,224 @@
+package com.bank.manager.stream;
+
+import com.bank.manager.config.StreamProperties.SlowConsumerPolicy;
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.dto.TransactionResponse;
+import com.bank.manager.event.LedgerEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * One SSE client. Writers only ever enqueue; a sender thread drains the buffer into the emitter.
+ * <p>
+ * At most one drain runs at a time (guarded by {@code draining}), which makes the
+ * sender the single consumer of the buffer. Sends block on the client's socket, so
+ * the broadcaster watches {@link #isStalled} and disconnects clients that stop reading.
+ */
+final class Subscription {
+
+    private final Set<Long> accountIds;
+    private final SseEmitter emitter;
+    private final SubscriberBuffer<LedgerEvent> buffer;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final Executor sender;
+    private final Consumer<Subscription> onClose;
+
+    private final Map<Long, LedgerEvent> conflatedBalances = new ConcurrentHashMap<>();
+    private final AtomicLong firstDroppedSequence = new AtomicLong();
+    // starts taken: nothing is sent until the initial replay is done
+    private final AtomicBoolean draining = new AtomicBoolean(true);
+    private volatile boolean closed;
+
+    private volatile boolean sending;
+    private volatile long sendStartedNanos;
+
+    // events up to here were covered by the initial replay; set before the first drain
+    private long replayedUpTo;
+    // only touched by the thread that holds 'draining'
+    private long lastSentSequence;
+    private final Map<Long, Long> lastSentBalanceSequences = new HashMap<>();
+
+    Subscription(Set<Long> accountIds,
+                 SseEmitter emitter,
+                 int bufferCapacity,
+                 SlowConsumerPolicy slowConsumerPolicy,
+                 Executor sender,
+                 Consumer<Subscription> onClose) {
+        this.accountIds = accountIds;
+        this.emitter = emitter;
+        this.buffer = new SubscriberBuffer<>(bufferCapacity);
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.sender = sender;
+        this.onClose = onClose;
+    }
+
+    Set<Long> getAccountIds() {
+        return accountIds;
+    }
+
+    /**
+     * Called on the writer's thread. Never blocks.
+     */
+    void deliver(LedgerEvent event) {
+        if (closed) {
+            return;
+        }
+        if (!buffer.offer(event) && !overflow(event)) {
+            return;
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Sends an event directly; only valid before {@link #start} while the caller owns the stream.
+     */
+    void sendInitial(LedgerEvent event) throws IOException {
+        send(event);
+    }
+
+    void sendSnapshot(AccountResponse account) throws IOException {
+        emit(SseEmitter.event().name("snapshot").data(account, MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Hands the stream over to the sender threads. Buffered events up to
+     * {@code deliveredUpTo} were already covered by the initial replay and are skipped.
+     */
+    void start(long deliveredUpTo) {
+        replayedUpTo = deliveredUpTo;
+        release();
+    }
+
+    /**
+     * Whether a send to this client has been blocked for longer than {@code timeoutNanos}.
+     */
+    boolean isStalled(long nowNanos, long timeoutNanos) {
+        return sending && nowNanos - sendStartedNanos > timeoutNanos;
+    }
+
+    /**
+     * Stops delivering to this client and completes its stream. Never blocks the caller:
+     * completion waits for the emitter, which a stalled send may still hold.
+     */
+    void disconnect() {
+        if (closed) {
+            return;
+        }
+        close();
+        sender.execute(emitter::complete);
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        onClose.accept(this);
+    }
+
+    // all private methods below
+    private boolean overflow(LedgerEvent event) {
+        if (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT) {
+            disconnect();
+            return false;
+        }
+        if (event.getType() == LedgerEvent.Type.ACCOUNT_UPDATED) {
+            conflatedBalances.put(event.getAccountId(), event);
+        } else {
+            firstDroppedSequence.compareAndSet(0, event.getSequence());
+        }
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            LedgerEvent event;
+            while (!closed && (event = buffer.poll()) != null) {
+                send(event);
+            }
+            for (Long accountId : conflatedBalances.keySet()) {
+                LedgerEvent latest = conflatedBalances.remove(accountId);
+                if (latest != null && !closed) {
+                    send(latest);
+                }
+            }
+            long firstDropped = firstDroppedSequence.getAndSet(0);
+            if (firstDropped > 0 && !closed) {
+                emit(SseEmitter.event().name("gap").data(
+                        Map.of("message", "Transactions were skipped because the subscriber fell behind",
+                                "resumeFromSequence", firstDropped - 1),
+                        MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // client went away or the emitter already completed
+            close();
+        } finally {
+            release();
+        }
+    }
+
+    private void release() {
+        draining.set(false);
+        boolean pending = !buffer.isEmpty() || !conflatedBalances.isEmpty() || firstDroppedSequence.get() > 0;
+        if (pending && !closed && draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void send(LedgerEvent event) throws IOException {
+        if (event.getSequence() <= replayedUpTo) {
+            return;
+        }
+        boolean balance = event.getType() == LedgerEvent.Type.ACCOUNT_UPDATED;
+        // a conflated balance can be older than events sent after it was set aside, but it is
+        // only stale if a newer balance of the same account already went out
+        Long lastBalanceSequence = balance ? lastSentBalanceSequences.get(event.getAccountId()) : null;
+        if (lastBalanceSequence != null && event.getSequence() <= lastBalanceSequence) {
+            return;
+        }
+
+        SseEmitter.SseEventBuilder sse = SseEmitter.event();
+        if (event.getSequence() > lastSentSequence) {
+            // ids only move forward, so a reconnecting client resumes after the newest event it saw
+            sse.id(Long.toString(event.getSequence()));
+        }
+        if (balance) {
+            sse.name("balance").data(new AccountResponse(event.getAccountId(), event.getHolderName(),
+                    event.getAccountClass(), event.getBalance(), event.getAccountCreatedAt()), MediaType.APPLICATION_JSON);
+        } else {
+            sse.name("transaction").data(TransactionResponse.from(event.getTransaction()), MediaType.APPLICATION_JSON);
+        }
+        emit(sse);
+        lastSentSequence = Math.max(lastSentSequence, event.getSequence());
+        if (balance) {
+            lastSentBalanceSequences.put(event.getAccountId(), event.getSequence());
+        }
+    }
+
+    private void emit(SseEmitter.SseEventBuilder sse) throws IOException {
+        sendStartedNanos = System.nanoTime();
+        sending = true;
+        try {
+            emitter.send(sse);
+        } finally {
+            sending = false;
+        }
+    }
+
+}
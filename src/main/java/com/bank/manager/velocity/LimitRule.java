@@ -0,0 +1,36 @@
+package com.bank.manager.velocity;
+
+import com.bank.manager.config.VelocityLimitProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * A configured {@link VelocityLimitProperties.Rule} with its bucket geometry worked out
+ * and its amount limit converted to counter units.
+ */
+record LimitRule(Duration window, int buckets, long bucketMillis, long maxCount, long maxAmountUnits,
+                 BigDecimal maxAmount) {
+
+    static LimitRule from(VelocityLimitProperties.Rule rule) {
+        if (rule.getBuckets() < 1 || rule.getWindow().toMillis() < rule.getBuckets()) {
+            throw new IllegalArgumentException("velocity window " + rule.getWindow()
+                    + " cannot be split into " + rule.getBuckets() + " buckets");
+        }
+        return new LimitRule(rule.getWindow(),
+                rule.getBuckets(),
+                rule.getWindow().toMillis() / rule.getBuckets(),
+                rule.getMaxCount() == null ? Long.MAX_VALUE : rule.getMaxCount(),
+                rule.getMaxAmount() == null ? Long.MAX_VALUE : VelocityCounter.toUnits(rule.getMaxAmount()),
+                rule.getMaxAmount());
+    }
+
+    boolean limitsCount() {
+        return maxCount != Long.MAX_VALUE;
+    }
+
+    boolean limitsAmount() {
+        return maxAmount != null;
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.bank.manager.velocity;
+
+import com.bank.manager.model.AccountClass;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sliding-window outflow counters of one account: for every rule of its class, a ring of
+ * buckets plus the epoch of its newest bucket. Buckets only track what their rule limits,
+ * counts as ints and amounts as longs, so the standard class takes under 1 KB per account.
+ * <p>
+ * Older buckets are cleared as the newest epoch moves forward, so a bucket is live if it is
+ * within {@code buckets} epochs of both the newest one and the current time. Time passed in
+ * must not go backwards per counter ({@link #touch} takes care of that).
+ * <p>
+ * Writers hold the account's ledger lock, but a rolled back write is undone after the lock
+ * is gone, so all access goes through the counter's monitor.
+ */
+final class VelocityCounter {
+
+    private static final long NO_EPOCH = Long.MIN_VALUE;
+
+    private final AccountClass accountClass;
+    private final long[] newestEpochs;
+    private final int[] counts;
+    private final long[] amounts;
+    private volatile long lastActivityMillis;
+
+    VelocityCounter(AccountClass accountClass, List<LimitRule> rules) {
+        this.accountClass = accountClass;
+        this.newestEpochs = new long[rules.size()];
+        Arrays.fill(newestEpochs, NO_EPOCH);
+        int countSlots = 0;
+        int amountSlots = 0;
+        for (LimitRule rule : rules) {
+            countSlots += rule.limitsCount() ? rule.buckets() : 0;
+            amountSlots += rule.limitsAmount() ? rule.buckets() : 0;
+        }
+        this.counts = new int[countSlots];
+        this.amounts = new long[amountSlots];
+    }
+
+    AccountClass getAccountClass() {
+        return accountClass;
+    }
+
+    /**
+     * Marks the counter as used and returns the time to count with: {@code nowMillis}, or
+     * the last time handed out if the clock has stepped back since.
+     */
+    long touch(long nowMillis) {
+        long now = Math.max(nowMillis, lastActivityMillis);
+        lastActivityMillis = now;
+        return now;
+    }
+
+    long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    /**
+     * Index of the first rule that one more outflow of {@code units} would break, or -1.
+     */
+    synchronized int findViolatedRule(List<LimitRule> rules, long nowMillis, long units) {
+        int countBase = 0;
+        int amountBase = 0;
+        for (int r = 0; r < rules.size(); r++) {
+            LimitRule rule = rules.get(r);
+            long newest = newestEpochs[r];
+            long count = 0;
+            long amount = 0;
+            if (newest != NO_EPOCH) {
+                long oldest = oldestLiveEpoch(rule, newest, nowMillis);
+                for (long epoch = oldest; epoch <= newest; epoch++) {
+                    int bucket = bucket(rule, epoch);
+                    count += rule.limitsCount() ? counts[countBase + bucket] : 0;
+                    amount += rule.limitsAmount() ? amounts[amountBase + bucket] : 0;
+                }
+            }
+            if (count + 1 > rule.maxCount()
+                    || rule.limitsAmount() && amount > rule.maxAmountUnits() - units) {
+                return r;
+            }
+            countBase += rule.limitsCount() ? rule.buckets() : 0;
+            amountBase += rule.limitsAmount() ? rule.buckets() : 0;
+        }
+        return -1;
+    }
+
+    synchronized void record(List<LimitRule> rules, long nowMillis, long units) {
+        int countBase = 0;
+        int amountBase = 0;
+        for (int r = 0; r < rules.size(); r++) {
+            LimitRule rule = rules.get(r);
+            long epoch = nowMillis / rule.bucketMillis();
+            if (epoch > newestEpochs[r]) {
+                advance(rule, r, epoch, countBase, amountBase);
+            }
+            int bucket = bucket(rule, epoch);
+            if (rule.limitsCount()) {
+                counts[countBase + bucket]++;
+                countBase += rule.buckets();
+            }
+            if (rule.limitsAmount()) {
+                // bounded by the amount limit, so the sum cannot overflow
+                amounts[amountBase + bucket] += units;
+                amountBase += rule.buckets();
+            }
+        }
+    }
+
+    /**
+     * Takes back an outflow recorded at {@code recordedAtMillis}, unless its bucket has
+     * already been reused.
+     */
+    synchronized void undo(List<LimitRule> rules, long recordedAtMillis, long units) {
+        int countBase = 0;
+        int amountBase = 0;
+        for (int r = 0; r < rules.size(); r++) {
+            LimitRule rule = rules.get(r);
+            long epoch = recordedAtMillis / rule.bucketMillis();
+            boolean live = epoch <= newestEpochs[r] && newestEpochs[r] - epoch < rule.buckets();
+            int bucket = bucket(rule, epoch);
+            if (rule.limitsCount()) {
+                counts[countBase + bucket] -= live ? 1 : 0;
+                countBase += rule.buckets();
+            }
+            if (rule.limitsAmount()) {
+                amounts[amountBase + bucket] -= live ? units : 0;
+                amountBase += rule.buckets();
+            }
+        }
+    }
+
+    /**
+     * Milliseconds until the oldest live bucket of a rule leaves its window.
+     */
+    synchronized long millisUntilOldestBucketExpires(List<LimitRule> rules, int ruleIndex, long nowMillis) {
+        int countBase = 0;
+        int amountBase = 0;
+        for (int r = 0; r < ruleIndex; r++) {
+            countBase += rules.get(r).limitsCount() ? rules.get(r).buckets() : 0;
+            amountBase += rules.get(r).limitsAmount() ? rules.get(r).buckets() : 0;
+        }
+        LimitRule rule = rules.get(ruleIndex);
+        long newest = newestEpochs[ruleIndex];
+        long oldest = nowMillis / rule.bucketMillis();
+        if (newest != NO_EPOCH) {
+            for (long epoch = oldestLiveEpoch(rule, newest, nowMillis); epoch <= newest; epoch++) {
+                int bucket = bucket(rule, epoch);
+                if (rule.limitsCount() && counts[countBase + bucket] > 0
+                        || rule.limitsAmount() && amounts[amountBase + bucket] > 0) {
+                    oldest = epoch;
+                    break;
+                }
+            }
+        }
+        return (oldest + rule.buckets()) * rule.bucketMillis() - nowMillis;
+    }
+
+    /**
+     * Amounts are counted in hundredths, rounded up so that limits are never undercounted.
+     * Amounts too large for a long saturate, which always breaks an amount limit.
+     */
+    static long toUnits(BigDecimal amount) {
+        BigDecimal units = amount.setScale(2, RoundingMode.CEILING).movePointRight(2);
+        return units.toBigInteger().bitLength() < 63 ? units.longValueExact() : Long.MAX_VALUE;
+    }
+
+    // all private methods below
+    private static int bucket(LimitRule rule, long epoch) {
+        return (int) Math.floorMod(epoch, (long) rule.buckets());
+    }
+
+    private static long oldestLiveEpoch(LimitRule rule, long newest, long nowMillis) {
+        long current = Math.max(nowMillis / rule.bucketMillis(), newest);
+        return current - rule.buckets() + 1;
+    }
+
+    /**
+     * Makes {@code epoch} the newest bucket of a rule, clearing the buckets it reuses.
+     */
+    private void advance(LimitRule rule, int ruleIndex, long epoch, int countBase, int amountBase) {
+        long newest = newestEpochs[ruleIndex];
+        long from = newest == NO_EPOCH || epoch - newest >= rule.buckets() ? epoch - rule.buckets() + 1 : newest + 1;
+        for (long cleared = from; cleared <= epoch; cleared++) {
+            int bucket = bucket(rule, cleared);
+            if (rule.limitsCount()) {
+                counts[countBase + bucket] = 0;
+            }
+            if (rule.limitsAmount()) {
+                amounts[amountBase + bucket] = 0;
+            }
+        }
+        newestEpochs[ruleIndex] = epoch;
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.bank.manager.velocity;
+
+import com.bank.manager.config.VelocityLimitProperties;
+import com.bank.manager.exception.VelocityLimitExceededException;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces per-account outflow limits (count and amount per sliding window) without
+ * touching the database.
+ * <p>
+ * Counters are created on an account's first outflow and evicted once the account has
+ * been idle for longer than its longest window, at which point all its buckets would
+ * have expired anyway. Memory is therefore bounded by the number of accounts active
+ * within that window.
+ */
+@Component
+public class VelocityLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(VelocityLimiter.class);
+    private static final long NOT_COUNTED = -1;
+
+    private final Map<Long, VelocityCounter> counters = new ConcurrentHashMap<>();
+    private final Map<AccountClass, List<LimitRule>> rulesByClass = new EnumMap<>(AccountClass.class);
+    private final boolean enabled;
+    private final long idleMillis;
+
+    public VelocityLimiter(VelocityLimitProperties properties) {
+        long longestWindow = 0;
+        for (AccountClass accountClass : AccountClass.values()) {
+            List<LimitRule> rules = properties.getLimits()
+                    .getOrDefault(accountClass, List.of())
+                    .stream()
+                    .map(LimitRule::from)
+                    .toList();
+            rulesByClass.put(accountClass, rules);
+            for (LimitRule rule : rules) {
+                longestWindow = Math.max(longestWindow, rule.window().toMillis());
+            }
+        }
+        this.enabled = properties.isEnabled();
+        this.idleMillis = longestWindow;
+    }
+
+    /**
+     * Checks that one more outflow of {@code amount} keeps the account within all limits
+     * of its class and, if so, counts it. Must be called while holding the account's
+     * ledger lock.
+     *
+     * @return when the outflow was counted, to pass to {@link #undo} if its write rolls back
+     * @throws VelocityLimitExceededException if a limit would be exceeded; nothing is counted then
+     */
+    public long checkAndRecord(Account account, BigDecimal amount) {
+        if (!enabled) {
+            return NOT_COUNTED;
+        }
+        List<LimitRule> rules = rulesByClass.get(account.getAccountClass());
+        if (rules == null || rules.isEmpty()) {
+            return NOT_COUNTED;
+        }
+        long units = VelocityCounter.toUnits(amount);
+        VelocityCounter counter = acquireCounter(account, rules, System.currentTimeMillis());
+        // set by acquireCounter, and never earlier than the account's previous outflow
+        long now = counter.getLastActivityMillis();
+
+        int violated = counter.findViolatedRule(rules, now, units);
+        if (violated >= 0) {
+            LimitRule rule = rules.get(violated);
+            long retryAfterMillis = counter.millisUntilOldestBucketExpires(rules, violated, now);
+            throw new VelocityLimitExceededException(account.getAccountId(), describe(rule),
+                    rule.window(), Math.max(1, Duration.ofMillis(retryAfterMillis).toSeconds()));
+        }
+        counter.record(rules, now, units);
+        return now;
+    }
+
+    /**
+     * Takes back an outflow counted by {@link #checkAndRecord} whose write was rolled back.
+     *
+     * @param countedAtMillis what {@code checkAndRecord} returned for it
+     */
+    public void undo(Account account, BigDecimal amount, long countedAtMillis) {
+        if (countedAtMillis == NOT_COUNTED) {
+            return;
+        }
+        VelocityCounter counter = counters.get(account.getAccountId());
+        // an evicted counter had only expired buckets left
+        if (counter != null && counter.getAccountClass() == account.getAccountClass()) {
+            counter.undo(rulesByClass.get(account.getAccountClass()), countedAtMillis,
+                    VelocityCounter.toUnits(amount));
+        }
+    }
+
+    /**
+     * Drops the counters of accounts that have been idle for longer than the longest window.
+     */
+    @Scheduled(fixedDelayString = "${bank.velocity.eviction-interval:PT5M}")
+    public void evictIdleCounters() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        int before = counters.size();
+        for (Long accountId : counters.keySet()) {
+            counters.computeIfPresent(accountId,
+                    (id, counter) -> counter.getLastActivityMillis() < cutoff ? null : counter);
+        }
+        int evicted = before - counters.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle velocity counters, {} remain", evicted, counters.size());
+        }
+    }
+
+    /**
+     * Number of accounts currently holding counters.
+     */
+    public int getTrackedAccountCount() {
+        return counters.size();
+    }
+
+    // all private methods below
+    private VelocityCounter acquireCounter(Account account, List<LimitRule> rules, long now) {
+        while (true) {
+            VelocityCounter counter = counters.get(account.getAccountId());
+            if (counter == null || counter.getAccountClass() != account.getAccountClass()) {
+                counter = counters.compute(account.getAccountId(), (id, existing) ->
+                        existing != null && existing.getAccountClass() == account.getAccountClass()
+                                ? existing
+                                : new VelocityCounter(account.getAccountClass(), rules));
+            }
+            counter.touch(now);
+            // eviction re-checks the activity time, so once touched the counter stays;
+            // if it was evicted just before, start over with a fresh one
+            if (counters.get(account.getAccountId()) == counter) {
+                return counter;
+            }
+        }
+    }
+
+    private static String describe(LimitRule rule) {
+        return rule.maxAmount() == null
+                ? rule.maxCount() + " outflows"
+                : rule.maxCount() == Long.MAX_VALUE
+                ? rule.maxAmount().toPlainString() + " in outflows"
+                : rule.maxCount() + " outflows or " + rule.maxAmount().toPlainString() + " in outflows";
+    }
+
+}
@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS accounts (
+    account_id  BIGINT PRIMARY KEY,
+    holder_name VARCHAR(100)   NOT NULL,
+    account_class VARCHAR(20)  NOT NULL DEFAULT 'STANDARD',
+    balance     DECIMAL(38, 10) NOT NULL,
+    created_at  TIMESTAMP(9)   NOT NULL
+);
+
+-- databases created before account classes existed
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS account_class VARCHAR(20) NOT NULL DEFAULT 'STANDARD';
+
+CREATE TABLE IF NOT EXISTS transactions (
+    transaction_id     BIGINT PRIMARY KEY,
+    account_id         BIGINT         NOT NULL,
+    type               VARCHAR(20)    NOT NULL,
+    amount             DECIMAL(38, 10) NOT NULL,
+    balance_after      DECIMAL(38, 10) NOT NULL,
+    created_at         TIMESTAMP(9)   NOT NULL,
+    related_account_id BIGINT,
+    description        VARCHAR(255)
+);
+
+-- keyset pagination over an account's history
+CREATE INDEX IF NOT EXISTS idx_transactions_account_id ON transactions (account_id, transaction_id);
+
+-- time range queries over an account's history
+CREATE INDEX IF NOT EXISTS idx_transactions_account_time ON transactions (account_id, created_at);
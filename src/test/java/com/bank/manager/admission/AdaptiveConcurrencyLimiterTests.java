@@ -0,0 +1,79 @@
+package com.bank.manager.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void limitGrowsWhileLatencyStaysAtBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 5, 100, 0.2, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            saturatedSample(limiter, 10 * MILLIS);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRisesAndRecoversAfterwards() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 5, 100, 0.2, 1.5);
+        for (int i = 0; i < 100; i++) {
+            saturatedSample(limiter, 10 * MILLIS);
+        }
+        int beforeSlowdown = limiter.getLimit();
+
+        // 10x slower: the gradient bottoms out and the limit converges towards its floor
+        for (int i = 0; i < 100; i++) {
+            saturatedSample(limiter, 100 * MILLIS);
+        }
+        int duringSlowdown = limiter.getLimit();
+        assertThat(duringSlowdown).isLessThan(beforeSlowdown / 2).isGreaterThanOrEqualTo(5);
+
+        for (int i = 0; i < 300; i++) {
+            saturatedSample(limiter, 10 * MILLIS);
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(duringSlowdown);
+    }
+
+    @Test
+    void idleBulkheadDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 5, 100, 0.2, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(10 * MILLIS);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void rejectsOnceLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 3, 1, 10, 0.2, 1.5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release(0);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    // all private methods below
+    /**
+     * Fills the bulkhead up to its current limit, then completes one request with the given latency.
+     */
+    private static void saturatedSample(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        while (limiter.tryAcquire()) {
+            // keep acquiring until the limit is reached
+        }
+        limiter.release(rttNanos);
+    }
+
+}
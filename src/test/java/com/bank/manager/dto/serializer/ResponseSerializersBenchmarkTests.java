@@ -0,0 +1,102 @@
+package com.bank.manager.dto.serializer;
+
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.dto.TransactionResponse;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and allocation per response of the hand-written serializers against Jackson's
+ * reflection-based bean serializer. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class ResponseSerializersBenchmarkTests {
+
+    private static final int HISTORY_SIZE = 100;
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 50_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void handWrittenAgainstReflectiveSerialization() throws IOException {
+        ObjectMapper reflective = mapper();
+        ObjectMapper handWritten = mapper().registerModule(new SimpleModule()
+                .addSerializer(AccountResponse.class, new AccountResponseSerializer())
+                .addSerializer(TransactionResponse.class, new TransactionResponseSerializer()));
+
+        AccountResponse account = new AccountResponse(42L, "Jane Doe", AccountClass.PREMIUM,
+                new BigDecimal("12345.67"), LocalDateTime.of(2024, 3, 4, 5, 6, 7, 123_456_789));
+        List<TransactionResponse> history = history();
+        assertThat(handWritten.writeValueAsString(history)).isEqualTo(reflective.writeValueAsString(history));
+
+        for (Object response : List.of(account, history)) {
+            String name = response == account ? "account" : "history of " + HISTORY_SIZE;
+            measure(reflective, response, WARMUP_ROUNDS);
+            measure(handWritten, response, WARMUP_ROUNDS);
+            long[] reflectiveCost = measure(reflective, response, MEASURED_ROUNDS);
+            long[] handWrittenCost = measure(handWritten, response, MEASURED_ROUNDS);
+            System.out.printf("%s: reflective %,d ns and %,d B/response, hand-written %,d ns and %,d B/response%n",
+                    name, reflectiveCost[0], reflectiveCost[1], handWrittenCost[0], handWrittenCost[1]);
+        }
+    }
+
+    // all private methods below
+    private static ObjectMapper mapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static List<TransactionResponse> history() {
+        List<TransactionResponse> history = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 30, 15, 250_000_000);
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            boolean transfer = i % 3 == 0;
+            history.add(new TransactionResponse((long) i + 1, 42L,
+                    transfer ? TransactionType.TRANSFER_OUT : TransactionType.DEPOSIT,
+                    BigDecimal.valueOf(1_000 + i * 37L, 2), BigDecimal.valueOf(500_000 + i * 1_234L, 2),
+                    start.plusSeconds(i * 61L), transfer ? 7L : null,
+                    transfer ? "Transfer to account 7" : "Deposit"));
+        }
+        return history;
+    }
+
+    /**
+     * Serializes {@code response} into a reused buffer, as the servlet output stream would
+     * be, and returns nanoseconds and bytes allocated per response.
+     */
+    private long[] measure(ObjectMapper mapper, Object response, int rounds) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            out.reset();
+            mapper.writeValue(out, response);
+        }
+        long nanos = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new long[]{nanos / rounds, allocated / rounds};
+    }
+
+}
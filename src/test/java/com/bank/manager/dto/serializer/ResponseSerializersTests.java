@@ -0,0 +1,90 @@
+package com.bank.manager.dto.serializer;
+
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.dto.TransactionResponse;
+import com.bank.manager.dto.TransferResponse;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JsonTest(properties = "spring.jackson.serialization.indent-output=false")
+class ResponseSerializersTests {
+
+    // the reflection-based path the hand-written serializers replace
+    private final ObjectMapper reflective = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void accountResponseMatchesDefaultSerialization() throws Exception {
+        List<BigDecimal> balances = List.of(
+                BigDecimal.ZERO,
+                new BigDecimal("0.05"),
+                new BigDecimal("1.50"),
+                new BigDecimal("-3.25"),
+                new BigDecimal("123456789.123"),
+                new BigDecimal("0.000001"),
+                new BigDecimal("0.0000001"),
+                new BigDecimal("1E+3"),
+                new BigDecimal("92233720368547758070.99"),
+                new BigDecimal(Long.MIN_VALUE));
+        List<LocalDateTime> times = List.of(
+                LocalDateTime.of(2024, 1, 2, 3, 4),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 120_000_000),
+                LocalDateTime.of(999, 5, 6, 7, 8, 9, 1),
+                LocalDateTime.of(2024, 6, 1, 0, 0, 0, 123_456_000),
+                LocalDateTime.of(10000, 1, 1, 0, 0));
+
+        for (BigDecimal balance : balances) {
+            for (LocalDateTime time : times) {
+                AccountResponse response = new AccountResponse(42L, "Jane \"Doe\"", AccountClass.PREMIUM,
+                        balance, time);
+                assertThat(objectMapper.writeValueAsString(response))
+                        .isEqualTo(reflective.writeValueAsString(response));
+            }
+        }
+    }
+
+    @Test
+    void transactionResponseMatchesDefaultSerialization() throws Exception {
+        TransactionResponse withNulls = new TransactionResponse(1L, 2L, TransactionType.DEPOSIT,
+                new BigDecimal("10.00"), new BigDecimal("110.00"), LocalDateTime.of(2024, 3, 4, 5, 6, 7),
+                null, null);
+        TransactionResponse transfer = new TransactionResponse(3L, 2L, TransactionType.TRANSFER_OUT,
+                new BigDecimal("7.5"), new BigDecimal("102.5"), LocalDateTime.of(2024, 3, 4, 5, 6, 7, 890),
+                9L, "Transfer to account 9");
+
+        for (TransactionResponse response : List.of(withNulls, transfer)) {
+            assertThat(objectMapper.writeValueAsString(response))
+                    .isEqualTo(reflective.writeValueAsString(response));
+        }
+    }
+
+    @Test
+    void transferResponseMatchesDefaultSerialization() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 4, 5, 6, 7, 1_000);
+        TransferResponse response = new TransferResponse(
+                new AccountResponse(1L, "Alice", AccountClass.STANDARD, new BigDecimal("90.00"), now),
+                new AccountResponse(2L, "Bob", null, new BigDecimal("10.00"), now));
+
+        assertThat(objectMapper.writeValueAsString(response))
+                .isEqualTo(reflective.writeValueAsString(response));
+    }
+
+}
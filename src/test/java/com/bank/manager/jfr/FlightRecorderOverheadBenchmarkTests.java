@@ -0,0 +1,99 @@
+package com.bank.manager.jfr;
+
+import com.bank.manager.SpringBootBankManagerApplication;
+import com.bank.manager.dto.AmountRequest;
+import com.bank.manager.dto.CreateAccountRequest;
+import com.bank.manager.service.AccountService;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Cost of the ledger and repository JFR events on the deposit path: no recording, a
+ * recording with the thresholds from bank-manager.jfc, and one committing every event.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class FlightRecorderOverheadBenchmarkTests {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int OPERATIONS = 200_000;
+    private static final int ROUNDS = 5;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void depositOverheadPerRecordingMode() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootBankManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--bank.storage.tiering.directory=" + directory.resolve("cold"), "--logging.level.com.bank.manager=info")) {
+            AccountService accounts = context.getBean(AccountService.class);
+            long firstId = createAccounts(accounts);
+
+            Measurement none = () -> deposits(accounts, firstId);
+            Measurement thresholds = () -> recorded(Duration.ofMillis(1), Duration.ofMillis(5), none);
+            Measurement everything = () -> recorded(Duration.ZERO, Duration.ZERO, none);
+            // the first recording re-instruments the event classes; warm up every mode before measuring
+            double[] best = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+            for (int round = -1; round < ROUNDS; round++) {
+                double[] measured = {none.run(), thresholds.run(), everything.run()};
+                for (int mode = 0; round >= 0 && mode < best.length; mode++) {
+                    best[mode] = Math.min(best[mode], measured[mode]);
+                }
+            }
+
+            System.out.printf("deposit: %.0f ns without recording, %.0f ns with default thresholds, "
+                    + "%.0f ns committing every event%n", best[0], best[1], best[2]);
+        }
+    }
+
+    // all private methods below
+    private static long createAccounts(AccountService accounts) {
+        long firstId = -1;
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest request = new CreateAccountRequest();
+            request.setHolderName("holder " + i);
+            long id = accounts.createAccount(request).getAccountId();
+            firstId = firstId < 0 ? id : firstId;
+        }
+        return firstId;
+    }
+
+    /**
+     * Runs {@link #OPERATIONS} deposits and returns nanoseconds per deposit.
+     */
+    private static double deposits(AccountService accounts, long firstId) {
+        AmountRequest request = new AmountRequest();
+        request.setAmount(BigDecimal.ONE);
+        long started = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            accounts.deposit(firstId + i % ACCOUNTS, request);
+        }
+        return (double) (System.nanoTime() - started) / OPERATIONS;
+    }
+
+    private double recorded(Duration ledgerThreshold, Duration repositoryThreshold, Measurement measurement)
+            throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable(LedgerOperationEvent.NAME).withThreshold(ledgerThreshold);
+            recording.enable(RepositoryOperationEvent.NAME).withThreshold(repositoryThreshold);
+            recording.setDestination(directory.resolve("overhead.jfr"));
+            recording.start();
+            return measurement.run();
+        }
+    }
+
+    private interface Measurement {
+        double run() throws Exception;
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.bank.manager.ranking;
+
+import com.bank.manager.config.RankingProperties;
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+import com.bank.manager.repository.InMemoryAccountRepository;
+import com.bank.manager.service.RankingServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Write-path cost the leaderboards add to every balance change and transfer, and the cost
+ * of their reads, up to a million accounts. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class RankingStructuresBenchmarkTests {
+
+    private static final int MAX_ACCOUNTS = 1_000_000;
+    private static final int OPERATIONS = 2_000_000;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+    // the application.yaml defaults
+    private static final long WINDOW_MILLIS = Duration.ofHours(1).toMillis();
+    private static final long BUCKET_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final int TOP_TRANSFERS = 100;
+    private static final int TOP_BALANCES = 1_000;
+
+    @Test
+    void balanceIndexUpToOneMillionAccounts() {
+        for (int accounts = 10_000; accounts <= MAX_ACCOUNTS; accounts *= 10) {
+            BalanceIndex index = new BalanceIndex();
+            SplittableRandom random = new SplittableRandom(1);
+            for (int i = 0; i < accounts; i++) {
+                index.update(i, "holder", AccountClass.STANDARD, balance(random), CREATED_AT);
+            }
+            updates(index, accounts, random); // warm up
+
+            double updateNanos = updates(index, accounts, random);
+            long started = System.nanoTime();
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(index.top(TOP_BALANCES)).hasSize(TOP_BALANCES);
+            }
+            double topMicros = (System.nanoTime() - started) / 1_000 / 1_000.0;
+
+            assertThat(index.size()).isEqualTo(accounts);
+            System.out.printf("balance index, %,d accounts: %.0f ns/update, top(%d) %.1f us%n",
+                    accounts, updateNanos, TOP_BALANCES, topMicros);
+        }
+    }
+
+    @Test
+    void dispatchCostWithOneMillionAccounts() {
+        InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < MAX_ACCOUNTS; i++) {
+            accounts.save(new Account((long) i, "holder", AccountClass.STANDARD, balance(random), CREATED_AT));
+        }
+        RankingServiceImpl rankings = new RankingServiceImpl(accounts, new RankingProperties());
+        rankings.start();
+        try {
+            LedgerEvent[] events = new LedgerEvent[4_096];
+            for (int i = 0; i < events.length; i++) {
+                Account account = new Account((long) random.nextInt(MAX_ACCOUNTS), "holder", AccountClass.STANDARD,
+                        balance(random), CREATED_AT);
+                events[i] = LedgerEvent.accountUpdated(i + 1, account, Instant.now());
+            }
+            dispatches(rankings, events); // warm up
+
+            // what a writer pays inside the publisher lock; the index itself is updated in the background
+            double dispatchNanos = dispatches(rankings, events);
+            System.out.printf("ranking service, %,d accounts: %.0f ns/balance event on the dispatch path%n",
+                    MAX_ACCOUNTS, dispatchNanos);
+        } finally {
+            rankings.shutdown();
+        }
+    }
+
+    @Test
+    void transfersWindowAtOneHourOfTraffic() {
+        TopTransfersWindow window = new TopTransfersWindow(WINDOW_MILLIS, BUCKET_MILLIS, TOP_TRANSFERS);
+        SplittableRandom random = new SplittableRandom(2);
+        Transaction[] transfers = new Transaction[4_096];
+        for (int i = 0; i < transfers.length; i++) {
+            transfers[i] = new Transaction((long) i, 1L, TransactionType.TRANSFER_OUT, balance(random),
+                    BigDecimal.ZERO, CREATED_AT, 2L, "Transfer to account 2");
+        }
+        // spread over one window so every bucket is full when measuring
+        adds(window, transfers, 0); // warm up
+
+        double addNanos = adds(window, transfers, WINDOW_MILLIS);
+        long now = 2 * WINDOW_MILLIS;
+        long started = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(window.top(TOP_TRANSFERS, now)).hasSize(TOP_TRANSFERS);
+        }
+        double topMicros = (System.nanoTime() - started) / 1_000 / 1_000.0;
+
+        System.out.printf("transfers window, %d buckets x %d: %.0f ns/add, top(%d) %.1f us%n",
+                WINDOW_MILLIS / BUCKET_MILLIS, TOP_TRANSFERS, addNanos, TOP_TRANSFERS, topMicros);
+    }
+
+    // all private methods below
+    private static BigDecimal balance(SplittableRandom random) {
+        return BigDecimal.valueOf(random.nextLong(100_000_000), 2);
+    }
+
+    private static double updates(BalanceIndex index, int accounts, SplittableRandom random) {
+        BigDecimal[] balances = new BigDecimal[4_096];
+        for (int i = 0; i < balances.length; i++) {
+            balances[i] = balance(random);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            index.update(random.nextInt(accounts), "holder", AccountClass.STANDARD, balances[i & 4_095], CREATED_AT);
+        }
+        return (double) (System.nanoTime() - started) / OPERATIONS;
+    }
+
+    private static double dispatches(RankingServiceImpl rankings, LedgerEvent[] events) {
+        long started = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            rankings.onLedgerEvent(events[i & 4_095]);
+        }
+        return (double) (System.nanoTime() - started) / OPERATIONS;
+    }
+
+    private static double adds(TopTransfersWindow window, Transaction[] transfers, long startMillis) {
+        long started = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            window.add(transfers[i & 4_095], startMillis + i * WINDOW_MILLIS / OPERATIONS);
+        }
+        return (double) (System.nanoTime() - started) / OPERATIONS;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.bank.manager.ranking;
+
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankingStructuresTests {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void balanceIndexKeepsOneEntryPerAccount() {
+        BalanceIndex index = new BalanceIndex();
+        index.update(1, "Ann", AccountClass.STANDARD, new BigDecimal("10"), CREATED_AT);
+        index.update(2, "Bob", AccountClass.STANDARD, new BigDecimal("20"), CREATED_AT);
+        index.update(3, "Cy", AccountClass.STANDARD, new BigDecimal("5"), CREATED_AT);
+        index.update(1, "Ann", AccountClass.STANDARD, new BigDecimal("30"), CREATED_AT);
+        // same balance with a different scale must still replace the old entry
+        index.update(2, "Bob", AccountClass.STANDARD, new BigDecimal("20.00"), CREATED_AT);
+
+        assertThat(index.top(10)).extracting(AccountResponse::getAccountId).containsExactly(1L, 2L, 3L);
+        assertThat(index.top(2)).extracting(AccountResponse::getBalance)
+                .containsExactly(new BigDecimal("30"), new BigDecimal("20.00"));
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void transfersWindowReturnsLargestLiveTransfers() {
+        TopTransfersWindow window = new TopTransfersWindow(3_000, 1_000, 2);
+        window.add(transfer(1, "100"), 500);
+        window.add(transfer(2, "5"), 1_500);
+        window.add(transfer(3, "50"), 1_600);
+        window.add(transfer(4, "70"), 1_700);
+        window.add(transfer(5, "1"), 2_500);
+
+        // the bucket at t=1s kept only its two largest transfers
+        assertThat(window.top(5, 2_900)).extracting(Transaction::getTransactionId).containsExactly(1L, 4L);
+        // at t=3.5s the first bucket has slid out of the window
+        assertThat(window.top(3, 3_500)).extracting(Transaction::getTransactionId).containsExactly(4L, 3L);
+        // a new transfer reuses the expired slot
+        window.add(transfer(6, "2"), 3_600);
+        assertThat(window.top(2, 3_600)).extracting(Transaction::getTransactionId).containsExactly(4L, 3L);
+        assertThat(window.top(2, 5_000)).extracting(Transaction::getTransactionId).containsExactly(6L);
+    }
+
+    private static Transaction transfer(long id, String amount) {
+        return new Transaction(id, 1L, TransactionType.TRANSFER_OUT, new BigDecimal(amount),
+                BigDecimal.ZERO, CREATED_AT, 2L, "Transfer to account 2");
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.bank.manager.replication;
+
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicationProtocolTests {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789);
+    private static final Account ACCOUNT = new Account(7L, "Zoë Ølberg", AccountClass.STANDARD,
+            new BigDecimal("-12345678901234567890.05"), CREATED_AT);
+    private static final Transaction TRANSFER = new Transaction(41L, 7L, TransactionType.TRANSFER_OUT,
+            new BigDecimal("0.10"), new BigDecimal("99.90"), CREATED_AT, 8L, "Rent");
+    private static final Transaction DEPOSIT = new Transaction(42L, 7L, TransactionType.DEPOSIT,
+            new BigDecimal("100"), new BigDecimal("199.90"), CREATED_AT.plusNanos(1), null, null);
+
+    @Test
+    void helloRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplicationProtocol.writeHello(new DataOutputStream(bytes), new ReplicationProtocol.Hello(Long.MAX_VALUE, -1));
+
+        assertThat(ReplicationProtocol.readHello(input(bytes)))
+                .isEqualTo(new ReplicationProtocol.Hello(Long.MAX_VALUE, -1));
+    }
+
+    @Test
+    void snapshotRoundTrip() throws IOException {
+        ReplicationSnapshot snapshot = new ReplicationSnapshot(3L, 17L, List.of(ACCOUNT), List.of(TRANSFER, DEPOSIT));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReplicationProtocol.writeSnapshot(new DataOutputStream(bytes), snapshot);
+
+        DataInputStream in = input(bytes);
+        assertThat(in.readByte()).isEqualTo(ReplicationProtocol.SNAPSHOT);
+        assertThat(ReplicationProtocol.readSnapshot(in)).usingRecursiveComparison().isEqualTo(snapshot);
+        assertThat(in.available()).isZero();
+    }
+
+    @Test
+    void eventBatchRoundTrip() throws IOException {
+        Instant publishedAt = Instant.ofEpochMilli(1_700_000_000_123L);
+        List<LedgerEvent> events = List.of(
+                LedgerEvent.accountUpdated(5L, ACCOUNT, publishedAt),
+                LedgerEvent.transactionRecorded(6L, TRANSFER, publishedAt),
+                LedgerEvent.transactionRecorded(7L, DEPOSIT, publishedAt.plusMillis(1)));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ReplicationProtocol.writeEvents(out, events);
+        ReplicationProtocol.writeHeartbeat(out, 9L);
+
+        DataInputStream in = input(bytes);
+        assertThat(in.readByte()).isEqualTo(ReplicationProtocol.EVENTS);
+        assertThat(ReplicationProtocol.readEvents(in)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(events);
+        assertThat(in.readByte()).isEqualTo(ReplicationProtocol.HEARTBEAT);
+        assertThat(in.readLong()).isEqualTo(9L);
+    }
+
+    @Test
+    void rejectsAnotherProtocol() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeBytes("GET / HTTP/1.1\r\n\r\n");
+
+        assertThatThrownBy(() -> ReplicationProtocol.readHello(input(bytes)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a replication client");
+    }
+
+    @Test
+    void rejectsAnotherProtocolVersion() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(ReplicationProtocol.MAGIC);
+        out.writeInt(ReplicationProtocol.VERSION + 1);
+        out.writeLong(1L);
+        out.writeLong(-1L);
+
+        assertThatThrownBy(() -> ReplicationProtocol.readHello(input(bytes)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version " + (ReplicationProtocol.VERSION + 1));
+    }
+
+    @Test
+    void rejectsAnUnknownEventType() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(1);
+        out.writeLong(1L);
+        out.writeLong(0L);
+        out.writeByte(99);
+
+        assertThatThrownBy(() -> ReplicationProtocol.readEvents(input(bytes)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unknown ledger event type 99");
+    }
+
+    // all private methods below
+    private static DataInputStream input(ByteArrayOutputStream bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+}
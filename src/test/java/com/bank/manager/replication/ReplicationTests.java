@@ -0,0 +1,242 @@
+package com.bank.manager.replication;
+
+import com.bank.manager.config.LedgerEventProperties;
+import com.bank.manager.config.ReplicationProperties;
+import com.bank.manager.config.TieringProperties;
+import com.bank.manager.dto.AmountRequest;
+import com.bank.manager.dto.CreateAccountRequest;
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.event.LedgerEventListener;
+import com.bank.manager.event.LedgerEventLog;
+import com.bank.manager.event.LedgerEventPublisher;
+import com.bank.manager.exception.ReplicaBehindException;
+import com.bank.manager.exception.StaleLedgerSequenceException;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.repository.InMemoryAccountRepository;
+import com.bank.manager.repository.InMemoryLedgerLockManager;
+import com.bank.manager.repository.InMemoryTransactionRepository;
+import com.bank.manager.repository.TransactionSegmentStore;
+import com.bank.manager.service.AccountServiceImpl;
+import com.bank.manager.velocity.VelocityLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ReplicationTests {
+
+    @TempDir
+    Path directory;
+
+    private final ReplicationProperties properties = new ReplicationProperties();
+    private final InMemoryAccountRepository replicaAccounts = new InMemoryAccountRepository();
+    private final AtomicInteger snapshotsLoaded = new AtomicInteger();
+    private final List<Primary> primaries = new ArrayList<>();
+    private InMemoryTransactionRepository replicaTransactions;
+    private ReplicationClient replica;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (ServerSocket probe = new ServerSocket(0)) {
+            properties.setPort(probe.getLocalPort());
+            properties.setPrimaryPort(probe.getLocalPort());
+        }
+        properties.setHeartbeatInterval(Duration.ofMillis(100));
+        properties.setReconnectBackoff(Duration.ofMillis(50));
+        replicaTransactions = new InMemoryTransactionRepository(segmentStore("replica"));
+        LedgerEventPublisher replicaPublisher = new LedgerEventPublisher(new LedgerEventLog(new LedgerEventProperties()),
+                List.of(new LedgerEventListener() {
+                    @Override
+                    public void onLedgerEvent(LedgerEvent event) {
+                    }
+
+                    @Override
+                    public void onLedgerRestored() {
+                        snapshotsLoaded.incrementAndGet();
+                    }
+                }));
+        replica = new ReplicationClient(properties, replicaPublisher, new InMemoryLedgerLockManager(), replicaAccounts,
+                replicaTransactions);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        replica.stop();
+        for (Primary primary : primaries) {
+            primary.server.stop();
+        }
+    }
+
+    @Test
+    void bootstrapsFromASnapshotAndThenFollowsEvents() throws Exception {
+        Primary primary = startPrimary("primary");
+        long first = primary.createAccount("100.00");
+        long second = primary.createAccount("5.00");
+        primary.deposit(first, "1.50");
+
+        replica.start();
+        awaitReplicaMatches(primary);
+        primary.deposit(second, "2.50");
+        awaitReplicaMatches(primary);
+
+        assertThat(replicaAccounts.findById(second).orElseThrow().getBalance()).isEqualByComparingTo("7.50");
+        assertThat(snapshotsLoaded).hasValue(1);
+    }
+
+    @Test
+    void resumesAfterItsLastAppliedSequence() throws Exception {
+        Primary primary = startPrimary("primary");
+        long accountId = primary.createAccount("100.00");
+        replica.start();
+        awaitReplicaMatches(primary);
+
+        // the replica loses its connection while the primary keeps writing
+        primary.server.stop();
+        awaitDisconnected();
+        primary.deposit(accountId, "1.00");
+        primary.createAccount("3.00");
+        primary.server.start();
+        awaitReplicaMatches(primary);
+
+        assertThat(snapshotsLoaded).hasValue(1);
+    }
+
+    @Test
+    void bootstrapsAgainWhenThePrimaryRestartsAndRejectsTokensOfTheOldRun() throws Exception {
+        Primary before = startPrimary("before");
+        long accountId = before.createAccount("100.00");
+        before.deposit(accountId, "1.00");
+        before.deposit(accountId, "1.00");
+        replica.start();
+        awaitReplicaMatches(before);
+
+        // a restarted primary numbers its events from scratch, so its sequence is lower
+        before.server.stop();
+        Primary after = startPrimary("after");
+        after.createAccount("42.00");
+        awaitReplicaMatches(after);
+        assertThat(snapshotsLoaded).hasValue(2);
+        assertThat(after.eventLog.getLastSequence()).isLessThan(before.eventLog.getLastSequence());
+
+        ReplicaRequestInterceptor interceptor = new ReplicaRequestInterceptor(replica, Duration.ofSeconds(10));
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> readWithToken(interceptor, before.server.getEpoch(), before.eventLog.getLastSequence()))
+                .isInstanceOf(StaleLedgerSequenceException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+
+        assertThat(readWithToken(interceptor, after.server.getEpoch(), after.eventLog.getLastSequence())).isTrue();
+        assertThatThrownBy(() -> readWithToken(new ReplicaRequestInterceptor(replica, Duration.ofMillis(50)),
+                after.server.getEpoch(), after.eventLog.getLastSequence() + 1))
+                .isInstanceOf(ReplicaBehindException.class);
+    }
+
+    // all private methods below
+    private Primary startPrimary(String name) throws IOException {
+        Primary primary = new Primary(segmentStore(name));
+        primary.server.start();
+        primaries.add(primary);
+        return primary;
+    }
+
+    private TransactionSegmentStore segmentStore(String name) {
+        TieringProperties tiering = new TieringProperties();
+        tiering.setDirectory(directory.resolve(name));
+        return new TransactionSegmentStore(tiering);
+    }
+
+    private boolean readWithToken(ReplicaRequestInterceptor interceptor, long epoch, long sequence) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        request.addHeader(LedgerSequenceHeaders.LEDGER_EPOCH, Long.toString(epoch));
+        request.addHeader(LedgerSequenceHeaders.MIN_LEDGER_SEQUENCE, Long.toString(sequence));
+        return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+
+    /**
+     * Polls until the replica has applied everything the primary has and holds the same state.
+     */
+    private void awaitReplicaMatches(Primary primary) throws InterruptedException {
+        for (int i = 0; i < 500 && !replicaMatches(primary); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(replica.getAppliedSequence()).isEqualTo(primary.eventLog.getLastSequence());
+        assertThat(replicaAccounts.findAll()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(primary.accounts.findAll());
+        for (Account account : primary.accounts.findAll()) {
+            assertThat(replicaTransactions.findByAccountId(account.getAccountId()))
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyElementsOf(primary.transactions.findByAccountId(account.getAccountId()));
+        }
+    }
+
+    private boolean replicaMatches(Primary primary) {
+        if (replica.getAppliedSequence() != primary.eventLog.getLastSequence()) {
+            return false;
+        }
+        for (Account account : primary.accounts.findAll()) {
+            Account replicated = replicaAccounts.findById(account.getAccountId()).orElse(null);
+            if (replicated == null || replicated.getBalance().compareTo(account.getBalance()) != 0) {
+                return false;
+            }
+        }
+        return replicaAccounts.findAll().size() == primary.accounts.findAll().size();
+    }
+
+    private void awaitDisconnected() throws InterruptedException {
+        for (int i = 0; i < 500 && replica.isConnected(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(replica.isConnected()).isFalse();
+    }
+
+    /**
+     * One run of a primary: its own ledger, event log and replication server.
+     */
+    private final class Primary {
+
+        private final InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+        private final InMemoryTransactionRepository transactions;
+        private final LedgerEventLog eventLog = new LedgerEventLog(new LedgerEventProperties());
+        private final ReplicationServer server;
+        private final AccountServiceImpl service;
+
+        private Primary(TransactionSegmentStore segmentStore) {
+            InMemoryLedgerLockManager lockManager = new InMemoryLedgerLockManager();
+            List<LedgerEventListener> listeners = new ArrayList<>();
+            transactions = new InMemoryTransactionRepository(segmentStore);
+            server = new ReplicationServer(properties, eventLog, lockManager, accounts, transactions);
+            listeners.add(server);
+            service = new AccountServiceImpl(accounts, transactions, new LedgerEventPublisher(eventLog, listeners),
+                    lockManager, mock(VelocityLimiter.class));
+        }
+
+        private long createAccount(String initialBalance) {
+            CreateAccountRequest request = new CreateAccountRequest();
+            request.setHolderName("holder");
+            request.setInitialBalance(new BigDecimal(initialBalance));
+            return service.createAccount(request).getAccountId();
+        }
+
+        private void deposit(long accountId, String amount) {
+            AmountRequest request = new AmountRequest();
+            request.setAmount(new BigDecimal(amount));
+            service.deposit(accountId, request);
+        }
+    }
+
+}
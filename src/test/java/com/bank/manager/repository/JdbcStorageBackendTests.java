@@ -0,0 +1,191 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.dto.AmountRequest;
+import com.bank.manager.dto.BalanceResponse;
+import com.bank.manager.dto.CreateAccountRequest;
+import com.bank.manager.dto.TransferRequest;
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.event.LedgerEventLog;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+import com.bank.manager.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:jdbc-backend-tests;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("jdbc")
+class JdbcStorageBackendTests {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private JdbcAccountRepository accountRepository;
+    @Autowired
+    private JdbcTransactionRepository transactionRepository;
+    @Autowired
+    private LedgerLockManager lockManager;
+    @Autowired
+    private LedgerEventLog eventLog;
+
+    @Test
+    void usesTheJdbcBackend() {
+        assertThat(lockManager).isInstanceOf(JdbcLedgerLockManager.class);
+    }
+
+    @Test
+    void failedWriteIsRolledBackAndUndoneButNotPublished() {
+        long accountId = createAccount();
+        List<String> ran = new ArrayList<>();
+
+        assertThatThrownBy(() -> lockManager.withAccountsLocked(List.of(accountId), () -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            account.setBalance(BigDecimal.ZERO);
+            accountRepository.save(account);
+            transactionRepository.save(new Transaction(null, accountId, TransactionType.WITHDRAWAL, INITIAL_BALANCE,
+                    BigDecimal.ZERO, LocalDateTime.now(), null, "Withdrawal"));
+            lockManager.afterCommit(() -> ran.add("published"));
+            lockManager.afterRollback(() -> ran.add("undone"));
+            throw new IllegalStateException("storage failure");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualByComparingTo(INITIAL_BALANCE);
+        assertThat(transactionRepository.findByAccountId(accountId)).singleElement()
+                .extracting(Transaction::getType).isEqualTo(TransactionType.DEPOSIT);
+        assertThat(ran).containsExactly("undone");
+    }
+
+    @Test
+    void afterCommitActionsSeeTheCommittedWriteInRegistrationOrder() {
+        long accountId = createAccount();
+        List<String> ran = new ArrayList<>();
+        List<BigDecimal> seenByOtherConnection = new ArrayList<>();
+
+        lockManager.withAccountsLocked(List.of(accountId), () -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            account.setBalance(BigDecimal.ONE);
+            accountRepository.save(account);
+            lockManager.afterCommit(() -> {
+                ran.add("first");
+                // another thread gets another connection, so it only sees committed rows
+                seenByOtherConnection.add(CompletableFuture.supplyAsync(
+                        () -> accountRepository.findById(accountId).orElseThrow().getBalance()).join());
+            });
+            lockManager.afterCommit(() -> ran.add("second"));
+            lockManager.afterRollback(() -> ran.add("undone"));
+            assertThat(ran).isEmpty();
+            return null;
+        });
+
+        assertThat(ran).containsExactly("first", "second");
+        assertThat(seenByOtherConnection).singleElement().satisfies(
+                balance -> assertThat(balance).isEqualByComparingTo(BigDecimal.ONE));
+    }
+
+    @Test
+    void concurrentTransfersKeepTheLedgerConsistent() throws Exception {
+        int accounts = 6;
+        int threads = 4;
+        int transfersPerThread = 100;
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            accountIds.add(createAccount());
+        }
+        long firstSequence = eventLog.getLastSequence();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        int from = random.nextInt(accounts);
+                        TransferRequest request = new TransferRequest();
+                        request.setFromAccountId(accountIds.get(from));
+                        request.setToAccountId(accountIds.get((from + 1 + random.nextInt(accounts - 1)) % accounts));
+                        request.setAmount(new BigDecimal("1.00"));
+                        accountService.transfer(request);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        Map<Long, BigDecimal> lastPublishedBalances = new HashMap<>();
+        for (LedgerEvent event : eventLog.eventsAfter(firstSequence).orElseThrow()) {
+            if (event.getType() == LedgerEvent.Type.ACCOUNT_UPDATED) {
+                lastPublishedBalances.put(event.getAccountId(), event.getBalance());
+            }
+        }
+        for (long accountId : accountIds) {
+            BigDecimal balance = accountRepository.findById(accountId).orElseThrow().getBalance();
+            List<Transaction> history = transactionRepository.findPageByAccountId(accountId, null, Integer.MAX_VALUE);
+            total = total.add(balance);
+            // the newest entry and the newest published state both match the stored balance
+            assertThat(history.get(0).getBalanceAfter()).isEqualByComparingTo(balance);
+            assertThat(lastPublishedBalances.get(accountId)).isEqualByComparingTo(balance);
+            // no transfer overwrote another: every entry continues from the one before it
+            BigDecimal running = BigDecimal.ZERO;
+            for (Transaction tx : history.reversed()) {
+                running = tx.getType() == TransactionType.TRANSFER_OUT
+                        ? running.subtract(tx.getAmount())
+                        : running.add(tx.getAmount());
+                assertThat(tx.getBalanceAfter()).isEqualByComparingTo(running);
+            }
+        }
+        assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(accounts)));
+    }
+
+    @Test
+    void bulkBalanceLookupMatchesSingleLookups() {
+        List<Long> accountIds = List.of(createAccount(), createAccount(), createAccount());
+        AmountRequest deposit = new AmountRequest();
+        deposit.setAmount(new BigDecimal("5.00"));
+        accountService.deposit(accountIds.get(1), deposit);
+        LocalDateTime asOf = LocalDateTime.now();
+        accountService.deposit(accountIds.get(1), deposit);
+
+        List<BalanceResponse> balances = accountService.getBalancesAsOf(accountIds.reversed(), asOf);
+
+        assertThat(balances).extracting(BalanceResponse::getAccountId).containsExactlyElementsOf(accountIds.reversed());
+        for (BalanceResponse balance : balances) {
+            assertThat(balance).usingRecursiveComparison()
+                    .isEqualTo(accountService.getBalanceAsOf(balance.getAccountId(), asOf));
+        }
+        assertThat(balances.get(1).getBalance()).isEqualByComparingTo("1005.00");
+    }
+
+    // all private methods below
+    private long createAccount() {
+        CreateAccountRequest request = new CreateAccountRequest();
+        request.setHolderName("holder");
+        request.setInitialBalance(INITIAL_BALANCE);
+        return accountService.createAccount(request).getAccountId();
+    }
+
+}
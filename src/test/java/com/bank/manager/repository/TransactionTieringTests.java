@@ -0,0 +1,176 @@
+package com.bank.manager.repository;
+
+import com.bank.manager.config.TieringProperties;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionTieringTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(3000, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private TransactionSegmentStore segmentStore;
+    private InMemoryTransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        TieringProperties properties = new TieringProperties();
+        properties.setDirectory(directory);
+        properties.setBlockSize(4);
+        segmentStore = new TransactionSegmentStore(properties);
+        repository = new InMemoryTransactionRepository(segmentStore);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        segmentStore.deleteSegments();
+    }
+
+    @Test
+    void encodeDecodeRoundTrip() throws IOException {
+        Transaction full = new Transaction(42L, 7L, TransactionType.TRANSFER_OUT, new BigDecimal("-1234.5600"),
+                new BigDecimal("99999999999999999999.01"), LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789),
+                8L, "Transfer to account 8 – ünïcode");
+        Transaction bare = new Transaction(43L, 7L, TransactionType.DEPOSIT, BigDecimal.ZERO, new BigDecimal("5"),
+                START, null, null);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            TransactionSegment.encode(out, full);
+            TransactionSegment.encode(out, bare);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(TransactionSegment.decode(in, 7L)).usingRecursiveComparison().isEqualTo(full);
+            assertThat(TransactionSegment.decode(in, 7L)).usingRecursiveComparison().isEqualTo(bare);
+            assertThat(in.available()).isZero();
+        }
+    }
+
+    @Test
+    void readsSpanHotAndColdTiers() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            repository.save(transaction(1L, i));
+        }
+        repository.save(transaction(2L, 10));
+
+        // the first 7 transactions of account 1 (two full blocks and a partial one) go cold
+        assertThat(repository.demoteColdTransactions(START.plusMinutes(7), Long.MAX_VALUE)).isEqualTo(7);
+        assertThat(repository.getHotTransactionCount()).isEqualTo(4);
+
+        assertThat(repository.findByAccountId(1L)).extracting(Transaction::getTransactionId)
+                .containsExactly(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L);
+        assertThat(repository.findByAccountIdBetween(1L, START.plusMinutes(2), START.plusMinutes(8)))
+                .extracting(Transaction::getTransactionId)
+                .containsExactly(9L, 8L, 7L, 6L, 5L, 4L, 3L);
+        assertThat(repository.findPageByAccountId(1L, 9L, 5)).extracting(Transaction::getTransactionId)
+                .containsExactly(8L, 7L, 6L, 5L, 4L);
+        assertThat(repository.findLatestAtOrBefore(1L, START.plusMinutes(5).plusSeconds(30)))
+                .map(Transaction::getTransactionId).contains(6L);
+        assertThat(repository.findLatestAtOrBefore(1L, START.minusSeconds(1))).isEmpty();
+        assertThat(repository.findByAccountId(2L)).extracting(Transaction::getTransactionId)
+                .containsExactly(11L);
+    }
+
+    @Test
+    void repeatedSmallDemotionsDoNotAccumulateBlocksOrSegments() throws IOException {
+        for (int i = 0; i < 30; i++) {
+            repository.save(transaction(1L, i));
+            assertThat(repository.demoteColdTransactions(FAR_FUTURE, 0)).isEqualTo(1);
+        }
+
+        // 30 transactions in blocks of 4: everything fits in one or two live segments
+        assertThat(segmentStore.getSegmentCount()).isLessThanOrEqualTo(2);
+        assertThat(segmentFiles()).hasSize(segmentStore.getSegmentCount());
+        assertThat(repository.getHotTransactionCount()).isZero();
+        assertThat(repository.findByAccountId(1L)).hasSize(30)
+                .extracting(Transaction::getTransactionId)
+                .isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(repository.findPageByAccountId(1L, null, 30)).extracting(Transaction::getTransactionId)
+                .startsWith(30L, 29L).endsWith(2L, 1L);
+    }
+
+    @Test
+    void clearDeletesColdSegments() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            repository.save(transaction(1L, i));
+        }
+        repository.demoteColdTransactions(FAR_FUTURE, 0);
+        assertThat(segmentFiles()).isNotEmpty();
+
+        repository.clear();
+
+        assertThat(segmentStore.getSegmentCount()).isZero();
+        assertThat(segmentFiles()).isEmpty();
+        assertThat(repository.findByAccountId(1L)).isEmpty();
+    }
+
+    @Test
+    void instancesSharingADirectoryKeepTheirSegmentsApart() throws IOException {
+        TieringProperties properties = new TieringProperties();
+        properties.setDirectory(directory);
+        properties.setBlockSize(4);
+        TransactionSegmentStore otherStore = new TransactionSegmentStore(properties);
+        InMemoryTransactionRepository other = new InMemoryTransactionRepository(otherStore);
+        try {
+            for (int i = 0; i < 10; i++) {
+                repository.save(transaction(1L, i));
+                other.save(transaction(1L, 100 + i));
+            }
+            repository.demoteColdTransactions(FAR_FUTURE, 0);
+            other.demoteColdTransactions(FAR_FUTURE, 0);
+            assertThat(otherStore.getInstanceDirectory()).isNotEqualTo(segmentStore.getInstanceDirectory());
+
+            // both number their segments from 1; neither write nor cleanup may touch the other's files
+            repository.clear();
+            assertThat(other.findByAccountId(1L)).hasSize(10)
+                    .allSatisfy(tx -> assertThat(tx.getDescription()).startsWith("tx 10"));
+            assertThat(segmentFiles()).hasSize(otherStore.getSegmentCount()).isNotEmpty();
+        } finally {
+            otherStore.deleteSegments();
+        }
+    }
+
+    @Test
+    void rejectsSegmentsTooLargeToAddress() {
+        TieringProperties properties = new TieringProperties();
+        properties.setMaxSegmentBytes(3L * 1024 * 1024 * 1024);
+
+        assertThatThrownBy(() -> new TransactionSegmentStore(properties))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // all private methods below
+    private static Transaction transaction(Long accountId, int minute) {
+        return new Transaction(null, accountId, TransactionType.DEPOSIT, BigDecimal.ONE,
+                BigDecimal.valueOf(minute + 1), START.plusMinutes(minute), null, "tx " + minute);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).toList();
+        }
+    }
+
+}
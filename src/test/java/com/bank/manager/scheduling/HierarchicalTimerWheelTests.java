@@ -0,0 +1,87 @@
+package com.bank.manager.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimerWheelTests {
+
+    @Test
+    void firesAtTheExactTickOnEveryLevel() {
+        long start = 12_345;
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(1, start);
+        // around every level boundary of the default 4 x 256 slot geometry
+        List<Long> delays = new ArrayList<>(List.of(1L, 2L, 255L, 256L, 257L, 511L, 65_535L, 65_536L, 65_537L,
+                100_000L, 16_777_215L, 16_777_216L, 16_777_300L));
+        Collections.shuffle(delays, new Random(42));
+        for (long delay : delays) {
+            wheel.schedule(start + delay, start + delay);
+        }
+
+        assertFiresExactlyOnTime(wheel, delays.stream().map(delay -> start + delay).toList());
+    }
+
+    @Test
+    void parksTimersBeyondTheTopLevelAndCascadesThemBack() {
+        // 2 levels of 4 slots: only delays up to 15 ticks fit, later ones are parked and re-placed
+        long start = 7;
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(1, start, 2, 2);
+        List<Long> expiries = new ArrayList<>();
+        for (long delay : new long[]{1, 3, 4, 5, 15, 16, 17, 31, 40, 100, 257}) {
+            wheel.schedule(start + delay, start + delay);
+            expiries.add(start + delay);
+        }
+        assertThat(wheel.size()).isEqualTo(expiries.size());
+
+        assertFiresExactlyOnTime(wheel, expiries);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void randomTimersFireOnTimeWithSmallGeometry() {
+        long start = 3;
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(1, start, 3, 3);
+        Random random = new Random(7);
+        List<Long> expiries = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long expiry = start + 1 + random.nextInt(5_000);
+            wheel.schedule(expiry, expiry);
+            expiries.add(expiry);
+        }
+
+        assertFiresExactlyOnTime(wheel, expiries);
+    }
+
+    @Test
+    void expiryInThePastFiresOnTheNextTick() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(1_000, 10_000);
+        wheel.schedule("late", 2_000);
+        wheel.schedule("now", 10_500);
+
+        assertThat(wheel.advanceTo(10_999)).isEmpty();
+        assertThat(wheel.advanceTo(11_000)).containsExactlyInAnyOrder("late", "now");
+    }
+
+    // all private methods below
+    /**
+     * Advances the wheel to one tick before and then onto each expiry, checking nothing fires early or late.
+     * Payloads are their own expiry tick.
+     */
+    private static void assertFiresExactlyOnTime(HierarchicalTimerWheel<Long> wheel, List<Long> expiries) {
+        List<Long> sorted = expiries.stream().sorted().distinct().toList();
+        for (long expiry : sorted) {
+            assertThat(wheel.advanceTo(expiry - 1)).as("fired before tick %d", expiry).isEmpty();
+            List<Long> fired = wheel.advanceTo(expiry);
+            assertThat(fired).as("fired at tick %d", expiry)
+                    .isNotEmpty()
+                    .containsOnly(expiry)
+                    .hasSize((int) expiries.stream().filter(e -> e == expiry).count());
+        }
+    }
+
+}
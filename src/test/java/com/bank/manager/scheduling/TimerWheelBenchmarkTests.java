@@ -0,0 +1,73 @@
+package com.bank.manager.scheduling;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scheduling overhead with 10M pending standing orders. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class TimerWheelBenchmarkTests {
+
+    private static final int PENDING = 10_000_000;
+    private static final long TICK_MILLIS = 1_000;
+    private static final long HORIZON_MILLIS = Duration.ofDays(30).toMillis();
+    private static final long START_MILLIS = 1_700_000_000_000L;
+
+    @Test
+    void schedulingOverheadWithTenMillionPendingOrders() {
+        // warm up the JIT on a smaller wheel first
+        fill(new HierarchicalTimerWheel<>(TICK_MILLIS, START_MILLIS), PENDING / 10, new SplittableRandom(1));
+
+        long heapBefore = usedHeap();
+        HierarchicalTimerWheel<Object> wheel = new HierarchicalTimerWheel<>(TICK_MILLIS, START_MILLIS);
+        long started = System.nanoTime();
+        fill(wheel, PENDING, new SplittableRandom(2));
+        long scheduleNanos = System.nanoTime() - started;
+        long heapPerTimer = (usedHeap() - heapBefore) / PENDING;
+        assertThat(wheel.size()).isEqualTo(PENDING);
+
+        // one simulated day, advanced once per tick like the scheduled job
+        long expired = 0;
+        long worstTickNanos = 0;
+        long advanceNanos = 0;
+        for (long now = START_MILLIS + TICK_MILLIS; now <= START_MILLIS + Duration.ofDays(1).toMillis();
+             now += TICK_MILLIS) {
+            long tickStarted = System.nanoTime();
+            List<Object> due = wheel.advanceTo(now);
+            long tickNanos = System.nanoTime() - tickStarted;
+            advanceNanos += tickNanos;
+            worstTickNanos = Math.max(worstTickNanos, tickNanos);
+            expired += due.size();
+        }
+        assertThat(wheel.size()).isEqualTo(PENDING - expired);
+
+        System.out.printf("timer wheel, %,d pending: schedule %.0f ns/op, ~%d bytes/timer on heap%n",
+                PENDING, (double) scheduleNanos / PENDING, heapPerTimer);
+        System.out.printf("timer wheel, 1 day at 1 s ticks: %,d expired, %.0f ns/expired timer, "
+                        + "mean tick %.1f us, worst tick %.1f ms%n",
+                expired, (double) advanceNanos / Math.max(1, expired),
+                advanceNanos / 86_400 / 1_000.0, worstTickNanos / 1_000_000.0);
+    }
+
+    // all private methods below
+    private static void fill(HierarchicalTimerWheel<Object> wheel, int count, SplittableRandom random) {
+        Object payload = new Object();
+        for (int i = 0; i < count; i++) {
+            wheel.schedule(payload, START_MILLIS + 1 + random.nextLong(HORIZON_MILLIS));
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
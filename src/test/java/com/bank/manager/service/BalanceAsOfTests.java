@@ -0,0 +1,137 @@
+package com.bank.manager.service;
+
+import com.bank.manager.config.TieringProperties;
+import com.bank.manager.dto.BalanceResponse;
+import com.bank.manager.event.LedgerEventPublisher;
+import com.bank.manager.exception.AccountNotFoundException;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+import com.bank.manager.repository.InMemoryAccountRepository;
+import com.bank.manager.repository.InMemoryTransactionRepository;
+import com.bank.manager.repository.LedgerLockManager;
+import com.bank.manager.repository.TransactionSegmentStore;
+import com.bank.manager.velocity.VelocityLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class BalanceAsOfTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private final InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+    private TransactionSegmentStore segmentStore;
+    private InMemoryTransactionRepository transactions;
+    private AccountServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        TieringProperties tiering = new TieringProperties();
+        tiering.setDirectory(directory);
+        tiering.setBlockSize(2);
+        segmentStore = new TransactionSegmentStore(tiering);
+        transactions = new InMemoryTransactionRepository(segmentStore);
+        service = new AccountServiceImpl(accounts, transactions, mock(LedgerEventPublisher.class),
+                mock(LedgerLockManager.class), mock(VelocityLimiter.class));
+        // account 1: +100 at minute 1, +50 at minute 2, -30 at minute 4, +10 at minute 6
+        accounts.save(new Account(1L, "holder", AccountClass.STANDARD, new BigDecimal("130"), START));
+        deposit(1L, "100", "100", 1);
+        deposit(1L, "50", "150", 2);
+        entry(1L, TransactionType.WITHDRAWAL, "30", "120", 4);
+        deposit(1L, "10", "130", 6);
+        // account 2: created at minute 3, +7 at minute 5
+        accounts.save(new Account(2L, "holder", AccountClass.STANDARD, new BigDecimal("7"), START.plusMinutes(3)));
+        deposit(2L, "7", "7", 5);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        segmentStore.deleteSegments();
+    }
+
+    @Test
+    void zeroBeforeTheFirstTransaction() {
+        BalanceResponse balance = service.getBalanceAsOf(1L, START.plusSeconds(30));
+
+        assertThat(balance.getBalance()).isEqualByComparingTo("0");
+        assertThat(balance.getTransactionId()).isNull();
+    }
+
+    @Test
+    void rejectsTimesBeforeTheAccountExisted() {
+        assertThatThrownBy(() -> service.getBalanceAsOf(2L, START.plusMinutes(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getBalancesAsOf(List.of(1L, 2L), START.plusMinutes(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void transactionAtExactlyThatTimeCounts() {
+        assertThat(service.getBalanceAsOf(1L, START.plusMinutes(4)).getBalance()).isEqualByComparingTo("120");
+    }
+
+    @Test
+    void betweenTransactionsTheEarlierOneCounts() {
+        assertThat(service.getBalanceAsOf(1L, START.plusMinutes(3)).getBalance()).isEqualByComparingTo("150");
+        assertThat(service.getBalanceAsOf(1L, START.plusMinutes(5)).getBalance()).isEqualByComparingTo("120");
+        assertThat(service.getBalanceAsOf(1L, START.plusMinutes(60)).getBalance()).isEqualByComparingTo("130");
+    }
+
+    @Test
+    void looksUpTransactionsThatWentCold() throws IOException {
+        // the first three transactions of account 1 move into two cold blocks
+        assertThat(transactions.demoteColdTransactions(START.plusMinutes(5), Long.MAX_VALUE)).isEqualTo(3);
+
+        assertThat(service.getBalanceAsOf(1L, START.plusSeconds(30)).getBalance()).isEqualByComparingTo("0");
+        assertThat(service.getBalanceAsOf(1L, START.plusMinutes(2)).getBalance()).isEqualByComparingTo("150");
+        assertThat(service.getBalanceAsOf(1L, START.plusMinutes(3)).getBalance()).isEqualByComparingTo("150");
+        // the last cold entry, while a later one is still hot
+        assertThat(service.getBalanceAsOf(1L, START.plusMinutes(5)).getBalance()).isEqualByComparingTo("120");
+        assertThat(service.getBalanceAsOf(1L, START.plusMinutes(6)).getBalance()).isEqualByComparingTo("130");
+    }
+
+    @Test
+    void bulkLookupMatchesSingleLookupsInRequestedOrder() {
+        LocalDateTime asOf = START.plusMinutes(4).plusSeconds(30);
+
+        assertThat(service.getBalancesAsOf(List.of(2L, 1L), asOf))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(service.getBalanceAsOf(2L, asOf), service.getBalanceAsOf(1L, asOf));
+        assertThat(service.getBalancesAsOf(List.of(2L, 1L), asOf)).extracting(BalanceResponse::getBalance)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.ZERO, new BigDecimal("120"));
+    }
+
+    @Test
+    void bulkLookupRejectsUnknownAccounts() {
+        assertThatThrownBy(() -> service.getBalancesAsOf(List.of(1L, 99L), START.plusMinutes(10)))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    // all private methods below
+    private void deposit(long accountId, String amount, String balanceAfter, int minute) {
+        entry(accountId, TransactionType.DEPOSIT, amount, balanceAfter, minute);
+    }
+
+    private void entry(long accountId, TransactionType type, String amount, String balanceAfter, int minute) {
+        transactions.save(new Transaction(null, accountId, type, new BigDecimal(amount), new BigDecimal(balanceAfter),
+                START.plusMinutes(minute), null, type.name()));
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.bank.manager.service;
+
+import com.bank.manager.config.RankingProperties;
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.repository.InMemoryAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankingServiceTests {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final InMemoryAccountRepository accounts = new InMemoryAccountRepository();
+    private RankingServiceImpl rankings;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        accounts.save(account(1L, "10"));
+        accounts.save(account(2L, "20"));
+        rankings = new RankingServiceImpl(accounts, new RankingProperties());
+        rankings.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rankings.shutdown();
+    }
+
+    @Test
+    void seedsFromTheRepository() {
+        assertThat(rankings.getTopBalances(10)).extracting(AccountResponse::getAccountId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void appliesTheLatestBalanceOfEveryAccount() throws InterruptedException {
+        for (int i = 1; i <= 1_000; i++) {
+            balanceChanged(1L, Integer.toString(i));
+            balanceChanged(3L, Integer.toString(500 - i / 2));
+        }
+
+        List<AccountResponse> top = awaitTop(balances -> balances.size() == 3
+                && balances.get(0).getBalance().equals(new BigDecimal("1000"))
+                && balances.get(1).getBalance().equals(new BigDecimal("20"))
+                && balances.get(2).getBalance().equals(BigDecimal.ZERO));
+        assertThat(top).extracting(AccountResponse::getAccountId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void restoreReplacesTheIndexWithTheRepositoryState() throws InterruptedException {
+        balanceChanged(1L, "50");
+        awaitTop(balances -> balances.get(0).getAccountId() == 1L);
+
+        accounts.clear();
+        accounts.save(account(4L, "5"));
+        rankings.onLedgerRestored();
+        balanceChanged(5L, "7");
+
+        List<AccountResponse> top = awaitTop(balances -> balances.size() == 2);
+        assertThat(top).extracting(AccountResponse::getAccountId).containsExactly(5L, 4L);
+    }
+
+    // all private methods below
+    private static Account account(long accountId, String balance) {
+        return new Account(accountId, "holder " + accountId, AccountClass.STANDARD, new BigDecimal(balance),
+                CREATED_AT);
+    }
+
+    private void balanceChanged(long accountId, String balance) {
+        rankings.onLedgerEvent(LedgerEvent.accountUpdated(++sequence, account(accountId, balance), Instant.now()));
+    }
+
+    /**
+     * Polls the index, which is updated in the background, until it satisfies {@code condition}.
+     */
+    private List<AccountResponse> awaitTop(Predicate<List<AccountResponse>> condition) throws InterruptedException {
+        List<AccountResponse> top = rankings.getTopBalances(10);
+        for (int i = 0; i < 500 && !condition.test(top); i++) {
+            Thread.sleep(10);
+            top = rankings.getTopBalances(10);
+        }
+        assertThat(condition.test(top)).as("top balances %s", top).isTrue();
+        return top;
+    }
+
+}
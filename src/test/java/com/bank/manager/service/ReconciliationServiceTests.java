@@ -0,0 +1,170 @@
+package com.bank.manager.service;
+
+import com.bank.manager.config.ReconciliationProperties;
+import com.bank.manager.config.TieringProperties;
+import com.bank.manager.dto.ReconciliationReportResponse;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import com.bank.manager.model.Discrepancy;
+import com.bank.manager.model.LedgerSnapshot;
+import com.bank.manager.model.Transaction;
+import com.bank.manager.model.TransactionType;
+import com.bank.manager.repository.InMemoryTransactionRepository;
+import com.bank.manager.repository.TransactionSegmentStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReconciliationServiceTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private final AccountService accountService = mock(AccountService.class);
+    private final List<Account> accounts = new ArrayList<>();
+    private TransactionSegmentStore segmentStore;
+    private InMemoryTransactionRepository transactions;
+    private ReconciliationServiceImpl reconciliation;
+
+    @BeforeEach
+    void setUp() {
+        TieringProperties tiering = new TieringProperties();
+        tiering.setDirectory(directory);
+        segmentStore = new TransactionSegmentStore(tiering);
+        transactions = new InMemoryTransactionRepository(segmentStore);
+        ReconciliationProperties properties = new ReconciliationProperties();
+        properties.setParallelism(1);
+        reconciliation = new ReconciliationServiceImpl(accountService, transactions, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        reconciliation.shutdown();
+        segmentStore.deleteSegments();
+    }
+
+    @Test
+    void consistentLedgerHasNoDiscrepancies() throws InterruptedException {
+        account(1L, "70");
+        account(2L, "30");
+        entry(1L, TransactionType.DEPOSIT, "100", "100", null, START);
+        entry(1L, TransactionType.TRANSFER_OUT, "30", "70", 2L, START.plusMinutes(1));
+        entry(2L, TransactionType.TRANSFER_IN, "30", "30", 1L, START.plusMinutes(1));
+
+        ReconciliationReportResponse report = reconcile();
+
+        assertThat(report.getStatus()).isEqualTo("COMPLETED");
+        assertThat(report.getCheckedAccounts()).isEqualTo(2);
+        assertThat(report.getDiscrepancies()).isEmpty();
+    }
+
+    @Test
+    void reportsBalanceMismatch() throws InterruptedException {
+        account(1L, "120");
+        entry(1L, TransactionType.DEPOSIT, "100", "100", null, START);
+
+        assertThat(reconcile().getDiscrepancies()).singleElement().satisfies(discrepancy -> {
+            assertThat(discrepancy.getType()).isEqualTo(Discrepancy.Type.BALANCE_MISMATCH);
+            assertThat(discrepancy.getAccountId()).isEqualTo(1L);
+            assertThat(discrepancy.getMessage()).contains("120", "100");
+        });
+    }
+
+    @Test
+    void reportsBrokenBalanceChainOnce() throws InterruptedException {
+        account(1L, "125");
+        entry(1L, TransactionType.DEPOSIT, "100", "100", null, START);
+        long broken = entry(1L, TransactionType.WITHDRAWAL, "25", "80", null, START.plusMinutes(1));
+        // continues from the recorded 80, so only the entry above is reported
+        entry(1L, TransactionType.DEPOSIT, "50", "130", null, START.plusMinutes(2));
+
+        // the balance matches the sum of the entries, only the recorded balanceAfter is off
+        assertThat(reconcile().getDiscrepancies()).singleElement().satisfies(discrepancy -> {
+            assertThat(discrepancy.getType()).isEqualTo(Discrepancy.Type.BROKEN_BALANCE_CHAIN);
+            assertThat(discrepancy.getTransactionId()).isEqualTo(broken);
+            assertThat(discrepancy.getMessage()).contains("75", "80");
+        });
+    }
+
+    @Test
+    void reportsEntryDatedBeforeItsPredecessor() throws InterruptedException {
+        account(1L, "150");
+        entry(1L, TransactionType.DEPOSIT, "100", "100", null, START.plusMinutes(5));
+        long early = entry(1L, TransactionType.DEPOSIT, "50", "150", null, START);
+
+        assertThat(reconcile().getDiscrepancies()).singleElement().satisfies(discrepancy -> {
+            assertThat(discrepancy.getType()).isEqualTo(Discrepancy.Type.TIMESTAMP_OUT_OF_ORDER);
+            assertThat(discrepancy.getTransactionId()).isEqualTo(early);
+        });
+    }
+
+    @Test
+    void reportsUnmatchedTransferLeg() throws InterruptedException {
+        account(1L, "70");
+        account(2L, "0");
+        entry(1L, TransactionType.DEPOSIT, "100", "100", null, START);
+        entry(1L, TransactionType.TRANSFER_OUT, "30", "70", 2L, START.plusMinutes(1));
+
+        assertThat(reconcile().getDiscrepancies()).singleElement().satisfies(discrepancy -> {
+            assertThat(discrepancy.getType()).isEqualTo(Discrepancy.Type.UNMATCHED_TRANSFER);
+            assertThat(discrepancy.getAccountId()).isEqualTo(1L);
+            assertThat(discrepancy.getMessage()).contains("TRANSFER_OUT", "to account 2");
+        });
+    }
+
+    @Test
+    void ignoresEntriesAfterTheSnapshot() throws InterruptedException {
+        account(1L, "100");
+        entry(1L, TransactionType.DEPOSIT, "100", "100", null, START);
+        when(accountService.captureSnapshot())
+                .thenReturn(new LedgerSnapshot(accounts, transactions.lastTransactionId(), START));
+        // committed after the snapshot was taken
+        entry(1L, TransactionType.DEPOSIT, "10", "999", null, START.plusMinutes(1));
+
+        assertThat(awaitReport(reconciliation.startReconciliation()).getDiscrepancies()).isEmpty();
+    }
+
+    // all private methods below
+    private void account(long accountId, String balance) {
+        accounts.add(new Account(accountId, "holder " + accountId, AccountClass.STANDARD, new BigDecimal(balance),
+                START));
+    }
+
+    private long entry(long accountId, TransactionType type, String amount, String balanceAfter,
+                       Long relatedAccountId, LocalDateTime createdAt) {
+        return transactions.save(new Transaction(null, accountId, type, new BigDecimal(amount),
+                new BigDecimal(balanceAfter), createdAt, relatedAccountId, type.name())).getTransactionId();
+    }
+
+    private ReconciliationReportResponse reconcile() throws InterruptedException {
+        when(accountService.captureSnapshot())
+                .thenReturn(new LedgerSnapshot(accounts, transactions.lastTransactionId(), LocalDateTime.now()));
+        return awaitReport(reconciliation.startReconciliation());
+    }
+
+    private ReconciliationReportResponse awaitReport(ReconciliationReportResponse started)
+            throws InterruptedException {
+        ReconciliationReportResponse report = started;
+        for (int i = 0; i < 500 && report.getStatus().equals("RUNNING"); i++) {
+            Thread.sleep(10);
+            report = reconciliation.getLatestReport().orElseThrow();
+        }
+        assertThat(report.getRunId()).isEqualTo(started.getRunId());
+        return report;
+    }
+
+}
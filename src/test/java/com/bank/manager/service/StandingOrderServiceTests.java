@@ -0,0 +1,120 @@
+package com.bank.manager.service;
+
+import com.bank.manager.config.StandingOrderProperties;
+import com.bank.manager.dto.CreateStandingOrderRequest;
+import com.bank.manager.dto.StandingOrderResponse;
+import com.bank.manager.dto.TransferResponse;
+import com.bank.manager.dto.TransferResult;
+import com.bank.manager.exception.AccountNotFoundException;
+import com.bank.manager.model.StandingOrderStatus;
+import com.bank.manager.repository.InMemoryStandingOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StandingOrderServiceTests {
+
+    private final AccountService accountService = mock(AccountService.class);
+    private final AtomicInteger transferBatches = new AtomicInteger();
+    private StandingOrderServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        StandingOrderProperties properties = new StandingOrderProperties();
+        properties.setTick(Duration.ofMillis(10));
+        service = new StandingOrderServiceImpl(new InMemoryStandingOrderRepository(), accountService, properties);
+    }
+
+    @Test
+    void cancelDuringTransferStopsLaterExecutions() throws InterruptedException {
+        StandingOrderResponse order = createEverySecond();
+        onTransfer(requests -> {
+            service.cancelStandingOrder(order.getStandingOrderId());
+            return TransferResult.success(new TransferResponse(null, null));
+        });
+
+        assertThat(runUntilExecuted()).isEqualTo(1);
+
+        StandingOrderResponse after = service.getStandingOrderById(order.getStandingOrderId());
+        assertThat(after.getStatus()).isEqualTo(StandingOrderStatus.CANCELLED);
+        assertThat(after.getNextExecutionAt()).isNull();
+        assertThat(after.getExecutionCount()).isEqualTo(1);
+        // no timer was re-armed
+        Thread.sleep(1_100);
+        assertThat(service.executeDueOrders()).isZero();
+        assertThat(transferBatches).hasValue(1);
+    }
+
+    @Test
+    void cancelDuringFailedTransferIsNotOverwritten() throws InterruptedException {
+        StandingOrderResponse order = createEverySecond();
+        onTransfer(requests -> {
+            service.cancelStandingOrder(order.getStandingOrderId());
+            return TransferResult.failure(new AccountNotFoundException(2L));
+        });
+
+        assertThat(runUntilExecuted()).isZero();
+
+        StandingOrderResponse after = service.getStandingOrderById(order.getStandingOrderId());
+        assertThat(after.getStatus()).isEqualTo(StandingOrderStatus.CANCELLED);
+        assertThat(after.getNextExecutionAt()).isNull();
+        assertThat(after.getLastError()).isNotNull();
+    }
+
+    @Test
+    void cancelledOrderNeverRuns() throws InterruptedException {
+        StandingOrderResponse order = createEverySecond();
+        service.cancelStandingOrder(order.getStandingOrderId());
+
+        long deadline = System.nanoTime() + Duration.ofMillis(1_500).toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(service.executeDueOrders()).isZero();
+            Thread.sleep(20);
+        }
+        verify(accountService, never()).transferBatch(anyList());
+    }
+
+    // all private methods below
+    private StandingOrderResponse createEverySecond() {
+        CreateStandingOrderRequest request = new CreateStandingOrderRequest();
+        request.setFromAccountId(1L);
+        request.setToAccountId(2L);
+        request.setAmount(BigDecimal.TEN);
+        request.setSchedule("* * * * * *");
+        return service.createStandingOrder(request);
+    }
+
+    private void onTransfer(Function<Object, TransferResult> outcome) {
+        when(accountService.transferBatch(anyList())).thenAnswer(invocation -> {
+            transferBatches.incrementAndGet();
+            return List.of(outcome.apply(invocation.getArgument(0)));
+        });
+    }
+
+    /**
+     * Drives the scheduler until the order's first occurrence has run.
+     */
+    private int runUntilExecuted() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(3).toNanos();
+        int executed = 0;
+        while (transferBatches.get() == 0 && System.nanoTime() < deadline) {
+            executed += service.executeDueOrders();
+            Thread.sleep(20);
+        }
+        assertThat(transferBatches).hasValue(1);
+        return executed;
+    }
+
+}
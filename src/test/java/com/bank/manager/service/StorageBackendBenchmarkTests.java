@@ -0,0 +1,130 @@
+package com.bank.manager.service;
+
+import com.bank.manager.SpringBootBankManagerApplication;
+import com.bank.manager.dto.AmountRequest;
+import com.bank.manager.dto.CreateAccountRequest;
+import com.bank.manager.dto.TransferRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deposit and transfer throughput of the in-memory and JDBC (file-backed H2) storage
+ * backends through {@link AccountService}. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class StorageBackendBenchmarkTests {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int THREADS = 8;
+    private static final int WARMUP_OPS = 20_000;
+    private static final int MEASURED_OPS = 50_000;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void inMemoryBackend() throws Exception {
+        measure("memory");
+    }
+
+    @Test
+    void jdbcBackend() throws Exception {
+        measure("jdbc", "--spring.profiles.active=jdbc",
+                "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("bank") + ";DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    // all private methods below
+    private void measure(String backend, String... args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        arguments.add("--bank.velocity.enabled=false");
+        arguments.add("--bank.storage.tiering.directory=" + directory.resolve("cold"));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootBankManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments.toArray(String[]::new))) {
+            AccountService accounts = context.getBean(AccountService.class);
+            long firstId = createAccounts(accounts);
+
+            BiConsumer<AccountService, SplittableRandom> deposit = (service, random) -> {
+                AmountRequest request = new AmountRequest();
+                request.setAmount(AMOUNT);
+                service.deposit(firstId + random.nextInt(ACCOUNTS), request);
+            };
+            BiConsumer<AccountService, SplittableRandom> transfer = (service, random) -> {
+                TransferRequest request = new TransferRequest();
+                long from = firstId + random.nextInt(ACCOUNTS);
+                request.setFromAccountId(from);
+                request.setToAccountId(firstId + (from - firstId + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS);
+                request.setAmount(AMOUNT);
+                service.transfer(request);
+            };
+
+            run(accounts, deposit, WARMUP_OPS);
+            run(accounts, transfer, WARMUP_OPS);
+            double deposits = run(accounts, deposit, MEASURED_OPS);
+            double transfers = run(accounts, transfer, MEASURED_OPS);
+
+            System.out.printf("%s backend, %d threads, %,d accounts: %,.0f deposits/s, %,.0f transfers/s%n",
+                    backend, THREADS, ACCOUNTS, deposits, transfers);
+        }
+    }
+
+    private static long createAccounts(AccountService accounts) {
+        long firstId = -1;
+        for (int i = 0; i < ACCOUNTS; i++) {
+            CreateAccountRequest request = new CreateAccountRequest();
+            request.setHolderName("holder " + i);
+            request.setInitialBalance(INITIAL_BALANCE);
+            long id = accounts.createAccount(request).getAccountId();
+            if (firstId < 0) {
+                firstId = id;
+            }
+            assertThat(id).isEqualTo(firstId + i);
+        }
+        return firstId;
+    }
+
+    /**
+     * Runs {@code operations} operations spread over {@link #THREADS} threads and returns operations per second.
+     */
+    private static double run(AccountService accounts, BiConsumer<AccountService, SplittableRandom> operation,
+                              int operations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            long started = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < operations / THREADS; i++) {
+                        operation.accept(accounts, random);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return operations * 1e9 / (System.nanoTime() - started);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
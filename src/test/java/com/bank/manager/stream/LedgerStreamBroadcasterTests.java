@@ -0,0 +1,84 @@
+package com.bank.manager.stream;
+
+import com.bank.manager.config.LedgerEventProperties;
+import com.bank.manager.config.StreamProperties;
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.event.LedgerEventLog;
+import com.bank.manager.event.LedgerEventPublisher;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerStreamBroadcasterTests {
+
+    private static final Account ACCOUNT = new Account(1L, "holder", AccountClass.STANDARD, BigDecimal.TEN,
+            LocalDateTime.of(2024, 1, 1, 0, 0));
+
+    private final LedgerEventLog eventLog = new LedgerEventLog(new LedgerEventProperties());
+    private final LedgerStreamBroadcaster broadcaster = new LedgerStreamBroadcaster(eventLog, new StreamProperties());
+    private final LedgerEventPublisher publisher = new LedgerEventPublisher(eventLog, List.of(broadcaster));
+    private final AtomicInteger snapshots = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void resumesFromALoggedSequence() throws IOException {
+        publish(5);
+
+        broadcaster.subscribe(Set.of(1L), 3L, currentState());
+
+        assertThat(snapshots).hasValue(0);
+    }
+
+    @Test
+    void sendsCurrentStateForASequenceFromBeforeARestore() throws IOException {
+        publish(5);
+        // a replica re-bootstrapping from an older snapshot numbers its events from there again
+        publisher.restore(2);
+        publish(1);
+
+        assertThat(eventLog.eventsAfter(5)).isEmpty();
+        broadcaster.subscribe(Set.of(1L), 5L, currentState());
+
+        assertThat(snapshots).hasValue(1);
+    }
+
+    @Test
+    void sendsCurrentStateForASequenceFromBeforeARestart() throws IOException {
+        // a fresh log, as after a restart, with the client still holding its old Last-Event-ID
+        assertThat(eventLog.eventsAfter(500)).isEmpty();
+
+        broadcaster.subscribe(Set.of(1L), 500L, currentState());
+
+        assertThat(snapshots).hasValue(1);
+    }
+
+    // all private methods below
+    private void publish(int events) {
+        for (int i = 0; i < events; i++) {
+            publisher.publishAccountUpdated(ACCOUNT);
+        }
+    }
+
+    private Supplier<List<AccountResponse>> currentState() {
+        return () -> {
+            snapshots.incrementAndGet();
+            return List.of();
+        };
+    }
+
+}
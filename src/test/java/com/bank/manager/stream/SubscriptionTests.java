@@ -0,0 +1,147 @@
+package com.bank.manager.stream;
+
+import com.bank.manager.config.StreamProperties.SlowConsumerPolicy;
+import com.bank.manager.dto.AccountResponse;
+import com.bank.manager.event.LedgerEvent;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionTests {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final Deque<Runnable> senderTasks = new ArrayDeque<>();
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private long sequence;
+
+    @Test
+    void conflatedBalanceSurvivesNewerEventsOfOtherAccounts() {
+        Subscription subscription = subscription(Set.of(1L, 2L), 2);
+        deliverBalance(subscription, 1L); // seq 1
+        deliverBalance(subscription, 2L); // seq 2, buffer is now full
+        deliverBalance(subscription, 1L); // seq 3, conflated
+        // while the first event is being sent a slot frees up and a newer event of account 2 arrives
+        emitter.onNextSend(() -> deliverBalance(subscription, 2L)); // seq 4
+
+        runSenderTasks();
+
+        assertThat(emitter.sentSequences(1L)).containsExactly(1L, 3L);
+        assertThat(emitter.sentSequences(2L)).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void latestBalanceOfEveryAccountArrivesWhenTheBufferOverflows() {
+        Set<Long> accountIds = Set.of(1L, 2L, 3L, 4L, 5L);
+        Subscription subscription = subscription(accountIds, 4);
+        Random random = new Random(11);
+        Map<Long, Long> lastDelivered = new HashMap<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            long accountId = 1 + random.nextInt(accountIds.size());
+            lastDelivered.put(accountId, deliverBalance(subscription, accountId));
+            if (random.nextInt(4) == 0) {
+                // let writers race with an in-progress drain
+                long racingAccount = 1 + random.nextInt(accountIds.size());
+                emitter.onNextSend(() -> lastDelivered.put(racingAccount, deliverBalance(subscription, racingAccount)));
+            }
+            if (random.nextInt(8) == 0 && !senderTasks.isEmpty()) {
+                senderTasks.poll().run();
+            }
+        }
+        emitter.onNextSend(null);
+        runSenderTasks();
+
+        for (long accountId : accountIds) {
+            List<Long> sent = emitter.sentSequences(accountId);
+            assertThat(sent).as("balances of account %d", accountId)
+                    .isSortedAccordingTo(Comparator.naturalOrder())
+                    .doesNotHaveDuplicates()
+                    .last().isEqualTo(lastDelivered.get(accountId));
+        }
+    }
+
+    @Test
+    void reportsSendsBlockedPastTheTimeout() {
+        Subscription subscription = subscription(Set.of(1L), 8);
+        long timeout = TimeUnit.SECONDS.toNanos(10);
+        List<Boolean> stalledDuringSend = new ArrayList<>();
+        emitter.onNextSend(() -> {
+            stalledDuringSend.add(subscription.isStalled(System.nanoTime(), timeout));
+            stalledDuringSend.add(subscription.isStalled(System.nanoTime() + 2 * timeout, timeout));
+        });
+
+        deliverBalance(subscription, 1L);
+        runSenderTasks();
+
+        assertThat(stalledDuringSend).containsExactly(false, true);
+        assertThat(subscription.isStalled(System.nanoTime() + 2 * timeout, timeout)).isFalse();
+    }
+
+    // all private methods below
+    private Subscription subscription(Set<Long> accountIds, int bufferCapacity) {
+        Subscription subscription = new Subscription(accountIds, emitter, bufferCapacity,
+                SlowConsumerPolicy.CONFLATE, senderTasks::add, closed -> {
+        });
+        subscription.start(0);
+        return subscription;
+    }
+
+    /**
+     * Delivers a balance update whose balance equals its sequence number.
+     */
+    private long deliverBalance(Subscription subscription, long accountId) {
+        long next = ++sequence;
+        Account account = new Account(accountId, "holder " + accountId, AccountClass.STANDARD,
+                BigDecimal.valueOf(next), CREATED_AT);
+        subscription.deliver(LedgerEvent.accountUpdated(next, account, Instant.now()));
+        return next;
+    }
+
+    private void runSenderTasks() {
+        while (!senderTasks.isEmpty()) {
+            senderTasks.poll().run();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<AccountResponse> balances = new ArrayList<>();
+        private Runnable onNextSend;
+
+        void onNextSend(Runnable action) {
+            onNextSend = action;
+        }
+
+        List<Long> sentSequences(long accountId) {
+            return balances.stream()
+                    .filter(account -> account.getAccountId() == accountId)
+                    .map(account -> account.getBalance().longValueExact())
+                    .toList();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof AccountResponse account) {
+                    balances.add(account);
+                }
+            }
+            Runnable action = onNextSend;
+            onNextSend = null;
+            if (action != null) {
+                action.run();
+            }
+        }
+    }
+
+}
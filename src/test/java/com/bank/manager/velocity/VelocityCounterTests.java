@@ -0,0 +1,112 @@
+package com.bank.manager.velocity;
+
+import com.bank.manager.config.VelocityLimitProperties;
+import com.bank.manager.model.AccountClass;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VelocityCounterTests {
+
+    @Test
+    void countLimitSlidesWithTheWindow() {
+        // 2 outflows per 10s, tracked in 1s buckets
+        List<LimitRule> rules = List.of(rule(Duration.ofSeconds(10), 10, 2L, null));
+        VelocityCounter counter = new VelocityCounter(AccountClass.STANDARD, rules);
+
+        record(counter, rules, 1_000, 100);
+        record(counter, rules, 5_000, 100);
+        assertThat(counter.findViolatedRule(rules, 9_999, 100)).isZero();
+        assertThat(counter.millisUntilOldestBucketExpires(rules, 0, 9_999)).isEqualTo(1_001);
+        // the bucket of t=1s has left the window at t=11s
+        assertThat(counter.findViolatedRule(rules, 11_000, 100)).isEqualTo(-1);
+    }
+
+    @Test
+    void amountLimitIsCheckedBeforeRecording() {
+        List<LimitRule> rules = List.of(
+                rule(Duration.ofMinutes(1), 12, null, new BigDecimal("100")),
+                rule(Duration.ofHours(1), 60, null, new BigDecimal("150")));
+        VelocityCounter counter = new VelocityCounter(AccountClass.STANDARD, rules);
+        long amount = VelocityCounter.toUnits(new BigDecimal("60.001"));
+        assertThat(amount).isEqualTo(6001);
+
+        record(counter, rules, 0, amount);
+        assertThat(counter.findViolatedRule(rules, 1_000, amount)).isZero();
+        // a minute later only the hourly limit still sees the first outflow
+        record(counter, rules, 60_000, amount);
+        assertThat(counter.findViolatedRule(rules, 120_000, amount)).isEqualTo(1);
+        assertThat(counter.findViolatedRule(rules, 120_000, VelocityCounter.toUnits(new BigDecimal("29.98"))))
+                .isEqualTo(-1);
+    }
+
+    @Test
+    void undoTakesBackARolledBackOutflow() {
+        List<LimitRule> rules = List.of(
+                rule(Duration.ofSeconds(10), 10, 2L, null),
+                rule(Duration.ofMinutes(1), 6, null, new BigDecimal("100")));
+        VelocityCounter counter = new VelocityCounter(AccountClass.STANDARD, rules);
+
+        record(counter, rules, 1_000, 6_000);
+        record(counter, rules, 2_000, 4_000);
+        assertThat(counter.findViolatedRule(rules, 3_000, 1)).isZero();
+
+        counter.undo(rules, 2_000, 4_000);
+        assertThat(counter.findViolatedRule(rules, 3_000, 4_000)).isEqualTo(-1);
+        // once its bucket has been reused, a late undo leaves the newer outflows alone
+        record(counter, rules, 15_000, 4_000);
+        counter.undo(rules, 1_000, 6_000);
+        assertThat(counter.findViolatedRule(rules, 15_000, 6_001)).isEqualTo(1);
+    }
+
+    @Test
+    void bucketsAreClearedWhenTheirSlotIsReused() {
+        // 3 outflows per 4s in 1s buckets
+        List<LimitRule> rules = List.of(rule(Duration.ofSeconds(4), 4, 3L, null));
+        VelocityCounter counter = new VelocityCounter(AccountClass.STANDARD, rules);
+
+        record(counter, rules, 0, 1);
+        record(counter, rules, 100, 1);
+        record(counter, rules, 2_000, 1);
+        assertThat(counter.findViolatedRule(rules, 3_999, 1)).isZero();
+        // t=4s reuses the slot of t=0s, and t=6s skips ahead past t=2s
+        record(counter, rules, 4_000, 1);
+        assertThat(counter.findViolatedRule(rules, 4_000, 1)).isEqualTo(-1);
+        record(counter, rules, 6_000, 1);
+        assertThat(counter.millisUntilOldestBucketExpires(rules, 0, 6_000)).isEqualTo(2_000);
+        // nothing recorded for longer than the window
+        assertThat(counter.findViolatedRule(rules, 60_000, 1)).isEqualTo(-1);
+        record(counter, rules, 60_000, 1);
+        record(counter, rules, 60_000, 1);
+        record(counter, rules, 60_000, 1);
+        assertThat(counter.findViolatedRule(rules, 60_000, 1)).isZero();
+    }
+
+    @Test
+    void countingTimeNeverGoesBack() {
+        VelocityCounter counter = new VelocityCounter(AccountClass.STANDARD, List.of());
+
+        assertThat(counter.touch(5_000)).isEqualTo(5_000);
+        assertThat(counter.touch(4_000)).isEqualTo(5_000);
+        assertThat(counter.touch(6_000)).isEqualTo(6_000);
+    }
+
+    private static void record(VelocityCounter counter, List<LimitRule> rules, long now, long units) {
+        assertThat(counter.findViolatedRule(rules, now, units)).isEqualTo(-1);
+        counter.record(rules, now, units);
+    }
+
+    private static LimitRule rule(Duration window, int buckets, Long maxCount, BigDecimal maxAmount) {
+        VelocityLimitProperties.Rule rule = new VelocityLimitProperties.Rule();
+        rule.setWindow(window);
+        rule.setBuckets(buckets);
+        rule.setMaxCount(maxCount);
+        rule.setMaxAmount(maxAmount);
+        return LimitRule.from(rule);
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.bank.manager.velocity;
+
+import com.bank.manager.config.VelocityLimitProperties;
+import com.bank.manager.model.Account;
+import com.bank.manager.model.AccountClass;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of the velocity check on every outflow, memory per tracked account and the cost of
+ * evicting idle counters. Rules have the shape of the standard class in application.yaml
+ * (12 + 60 buckets) with limits high enough never to trip. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class VelocityLimiterBenchmarkTests {
+
+    private static final int ACCOUNTS = 500_000;
+    private static final int OPERATIONS = 5_000_000;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void checkAndRecordAndMemoryPerAccount() {
+        Account[] accounts = accounts();
+        long heapBefore = usedHeap();
+        VelocityLimiter limiter = new VelocityLimiter(properties(Duration.ofMinutes(1), Duration.ofHours(1)));
+        BigDecimal amount = new BigDecimal("12.34");
+        for (Account account : accounts) {
+            limiter.checkAndRecord(account, amount);
+        }
+        long bytesPerAccount = (usedHeap() - heapBefore) / ACCOUNTS;
+        assertThat(limiter.getTrackedAccountCount()).isEqualTo(ACCOUNTS);
+
+        SplittableRandom random = new SplittableRandom(1);
+        checkAndRecord(limiter, accounts, amount, random); // warm up
+        double nanos = checkAndRecord(limiter, accounts, amount, random);
+
+        System.out.printf("velocity limiter, %,d tracked accounts: %.0f ns/check-and-record, "
+                + "~%,d bytes/account (%.1f GB per million)%n", ACCOUNTS, nanos, bytesPerAccount,
+                bytesPerAccount * 1e6 / (1L << 30));
+    }
+
+    @Test
+    void evictingIdleCounters() throws InterruptedException {
+        Account[] accounts = accounts();
+        // same bucket counts with windows short enough to go idle during the test
+        VelocityLimiter limiter = new VelocityLimiter(properties(Duration.ofMillis(120), Duration.ofMillis(600)));
+        for (Account account : accounts) {
+            limiter.checkAndRecord(account, BigDecimal.ONE);
+        }
+        Thread.sleep(700);
+
+        long started = System.nanoTime();
+        limiter.evictIdleCounters();
+        long nanos = System.nanoTime() - started;
+
+        assertThat(limiter.getTrackedAccountCount()).isZero();
+        System.out.printf("velocity limiter: evicted %,d idle counters in %.0f ms (%.0f ns/counter)%n",
+                ACCOUNTS, nanos / 1e6, (double) nanos / ACCOUNTS);
+    }
+
+    // all private methods below
+    private static VelocityLimitProperties properties(Duration shortWindow, Duration longWindow) {
+        VelocityLimitProperties properties = new VelocityLimitProperties();
+        properties.setEnabled(true);
+        properties.setLimits(Map.of(AccountClass.STANDARD, List.of(
+                rule(shortWindow, 12), rule(longWindow, 60))));
+        return properties;
+    }
+
+    private static VelocityLimitProperties.Rule rule(Duration window, int buckets) {
+        VelocityLimitProperties.Rule rule = new VelocityLimitProperties.Rule();
+        rule.setWindow(window);
+        rule.setBuckets(buckets);
+        rule.setMaxCount(Long.MAX_VALUE / 2);
+        rule.setMaxAmount(new BigDecimal("1000000000000"));
+        return rule;
+    }
+
+    private static Account[] accounts() {
+        Account[] accounts = new Account[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts[i] = new Account((long) i + 1, "holder", AccountClass.STANDARD, BigDecimal.ZERO, CREATED_AT);
+        }
+        return accounts;
+    }
+
+    private static double checkAndRecord(VelocityLimiter limiter, Account[] accounts, BigDecimal amount,
+                                         SplittableRandom random) {
+        long started = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            limiter.checkAndRecord(accounts[random.nextInt(ACCOUNTS)], amount);
+        }
+        return (double) (System.nanoTime() - started) / OPERATIONS;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}